@@ -1,13 +1,39 @@
 package Group2BankSystem.model;
 
 import Group2BankSystem.exceptions.*;
-import java.io.Serializable;
+import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.Date;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class Account implements Serializable {
+    private static final long serialVersionUID = 5205741000183037240L;
+
+    // Keeps the serialized form of earlier releases, which stored the balance as a double.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("accountNumber", String.class),
+            new ObjectStreamField("accountHolderName", String.class),
+            new ObjectStreamField("balance", double.class),
+            new ObjectStreamField("accountType", String.class),
+            new ObjectStreamField("isActive", boolean.class),
+            new ObjectStreamField("dateCreated", Date.class),
+            new ObjectStreamField("dateLastUpdated", Date.class)
+    };
+
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balanceCents", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     protected String accountNumber;
     protected String accountHolderName;
-    protected double balance;
+    protected volatile long balanceCents;
     protected String accountType;
     protected boolean isActive;
     protected Date dateCreated;
@@ -18,7 +44,7 @@ public abstract class Account implements Serializable {
         if (initialDeposit < 0) throw new InvalidAmountException("Initial deposit cannot be negative");
         this.accountNumber = accountNumber;
         this.accountHolderName = accountHolderName;
-        this.balance = initialDeposit;
+        this.balanceCents = Money.toCents(initialDeposit);
         this.isActive = true;
         this.dateCreated = new Date();
         this.dateLastUpdated = new Date();
@@ -31,16 +57,52 @@ public abstract class Account implements Serializable {
     public void closeAccount() {
         isActive = false;
         updateLastModifiedDate();
-        TransactionManager.addTransaction(accountNumber, "ACCOUNT_CLOSED", 0, "Account closed");
+        TransactionManager.addTransaction(accountNumber, "ACCOUNT_CLOSED", 0L, "Account closed");
     }
 
     protected void updateLastModifiedDate() {
         this.dateLastUpdated = new Date();
     }
 
+    /**
+     * Applies {@code change} to the balance and records the transaction for it under the
+     * account's stripe lock, the lock balance-at-date queries hold, so they never see the
+     * balance moved without its transaction. {@code change} returns the signed amount in cents
+     * it moved the balance by. Waits for the transaction to be durable after the lock is released.
+     */
+    final <E extends Exception> void post(String type, String description, BalanceChange<E> change) throws E {
+        CompletableFuture<Void> durable;
+        synchronized (AccountLocks.lockFor(accountNumber)) {
+            long cents = change.apply();
+            updateLastModifiedDate();
+            durable = TransactionManager.recordTransaction(accountNumber, type, cents, description);
+        }
+        TransactionManager.awaitDurable(durable);
+    }
+
+    interface BalanceChange<E extends Exception> {
+        long apply() throws E;
+    }
+
+    /**
+     * Atomically replaces the balance if it still holds {@code expected}. Mutations that must
+     * check a limit read the balance, validate it and retry this until it succeeds.
+     */
+    protected final boolean compareAndSetBalance(long expected, long updated) {
+        return BALANCE.compareAndSet(this, expected, updated);
+    }
+
+    /**
+     * Atomically adds {@code delta} cents to the balance and returns the new balance in cents.
+     */
+    protected final long addToBalance(long delta) {
+        return (long) BALANCE.getAndAdd(this, delta) + delta;
+    }
+
     public String getAccountNumber() { return accountNumber; }
     public String getAccountHolderName() { return accountHolderName; }
-    public double getBalance() { return balance; }
+    public double getBalance() { return Money.toAmount(balanceCents); }
+    public long getBalanceCents() { return balanceCents; }
     public String getAccountType() { return accountType; }
     public boolean isActive() { return isActive; }
     public Date getDateCreated() { return dateCreated; }
@@ -56,4 +118,27 @@ public abstract class Account implements Serializable {
     protected abstract void validateSufficientFunds(double amount) throws InsufficientFundsException;
 
     public abstract boolean transfer(BankAccount target, double amountValue);
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("accountNumber", accountNumber);
+        fields.put("accountHolderName", accountHolderName);
+        fields.put("balance", getBalance());
+        fields.put("accountType", accountType);
+        fields.put("isActive", isActive);
+        fields.put("dateCreated", dateCreated);
+        fields.put("dateLastUpdated", dateLastUpdated);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        accountNumber = (String) fields.get("accountNumber", null);
+        accountHolderName = (String) fields.get("accountHolderName", null);
+        balanceCents = Money.toCents(fields.get("balance", 0.0));
+        accountType = (String) fields.get("accountType", null);
+        isActive = fields.get("isActive", false);
+        dateCreated = (Date) fields.get("dateCreated", null);
+        dateLastUpdated = (Date) fields.get("dateLastUpdated", null);
+    }
 }
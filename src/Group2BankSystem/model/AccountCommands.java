@@ -0,0 +1,173 @@
+package Group2BankSystem.model;
+
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Runs account mutations on background threads so callers such as the Swing UI never wait
+ * on persistence.
+ * <p>
+ * Commands run on a small bounded pool, sized with {@code bank.commands.threads} and
+ * {@code bank.commands.queueSize}. Commands for the same account run one after another in
+ * submission order; commands for different accounts run in parallel. Operations the
+ * {@link Ledger} supports go through it. Each method returns a future that completes with the
+ * account balance in cents after the command, or exceptionally with the domain exception the
+ * command raised. A full queue fails the future with {@link RejectedExecutionException}.
+ * </p>
+ */
+public final class AccountCommands {
+    private static final int THREADS = Integer.getInteger("bank.commands.threads", 4);
+    private static final int QUEUE_SIZE = Integer.getInteger("bank.commands.queueSize", 1024);
+
+    private static final ExecutorService executor = new ThreadPoolExecutor(THREADS, THREADS,
+            30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE), r -> {
+                Thread thread = new Thread(r, "account-command");
+                thread.setDaemon(true);
+                return thread;
+            });
+    private static final Map<String, CompletableFuture<?>> pending = new ConcurrentHashMap<>();
+
+    static {
+        ((ThreadPoolExecutor) executor).allowCoreThreadTimeOut(true);
+    }
+
+    private AccountCommands() {
+    }
+
+    public static CompletableFuture<Long> deposit(BankAccount account, double amount) {
+        return submit(account, () -> Ledger.deposit(account, amount));
+    }
+
+    public static CompletableFuture<Long> withdraw(BankAccount account, double amount) {
+        return submit(account, () -> Ledger.withdraw(account, amount));
+    }
+
+    public static CompletableFuture<Long> charge(CreditCardAccount account, double amount) {
+        return submit(account, () -> Ledger.charge(account, amount));
+    }
+
+    public static CompletableFuture<Long> makePayment(CreditCardAccount account, double amount) {
+        return submit(account, () -> Ledger.makePayment(account, amount));
+    }
+
+    public static CompletableFuture<Long> closeAccount(BankAccount account) {
+        return submit(account, () -> Ledger.closeAccount(account));
+    }
+
+    public static CompletableFuture<Long> encashCheck(CheckingAccount account, double amount) {
+        return submit(account, () -> {
+            account.encashCheck(amount);
+            AccountManager.updateAccount(account);
+            return CompletableFuture.completedFuture(account.getBalanceCents());
+        });
+    }
+
+    public static CompletableFuture<Long> transfer(BankAccount source, BankAccount target, double amount) {
+        return submit(source, () -> {
+            TransferEngine.transfer(source, target, amount);
+            return CompletableFuture.completedFuture(source.getBalanceCents());
+        });
+    }
+
+    public static CompletableFuture<Long> addAccount(BankAccount account) {
+        return submit(account, () -> {
+            AccountManager.addAccount(account);
+            return CompletableFuture.completedFuture(account.getBalanceCents());
+        });
+    }
+
+    /**
+     * Applies an edit of the whole account: converts it when {@code accountType} differs,
+     * renames it, and deposits or withdraws the difference to {@code balance}. Completes with
+     * the saved account, which is a new object after a conversion.
+     */
+    public static CompletableFuture<BankAccount> editAccount(BankAccount account, String accountHolderName,
+                                                             double balance, String accountType) {
+        return submit(account, () -> {
+            BankAccount edited = account.getAccountType().equals(accountType)
+                    ? account : AccountFactory.convertAccount(account, accountType);
+            edited.setAccountHolderName(accountHolderName);
+            double difference = balance - edited.getBalance();
+            if (difference > 0) {
+                edited.deposit(difference);
+            } else if (difference < 0) {
+                edited.withdraw(-difference);
+            }
+            AccountManager.updateAccount(edited);
+            return CompletableFuture.completedFuture(edited);
+        });
+    }
+
+    public static CompletableFuture<Long> rename(BankAccount account, String accountHolderName) {
+        return submit(account, () -> {
+            account.setAccountHolderName(accountHolderName);
+            AccountManager.updateAccount(account);
+            return CompletableFuture.completedFuture(account.getBalanceCents());
+        });
+    }
+
+    /**
+     * Changes the amount of a recorded transaction behind the other commands for its account.
+     * Completes with whether the transaction was found.
+     */
+    public static CompletableFuture<Boolean> updateTransaction(Transaction transaction, double newAmount) {
+        return submit(transaction.getAccountNumber(), () -> CompletableFuture.completedFuture(
+                TransactionManager.updateTransaction(transaction.getTransactionId(), newAmount)));
+    }
+
+    /**
+     * Completes with the interest {@link BankAccount#computeMonthlyInterest()} reports, after the
+     * account has been saved.
+     */
+    public static CompletableFuture<Double> computeMonthlyInterest(BankAccount account) {
+        return submit(account, () -> {
+            double interest = account.computeMonthlyInterest();
+            AccountManager.updateAccount(account);
+            return CompletableFuture.completedFuture(interest);
+        });
+    }
+
+    /**
+     * Queues {@code command} behind the account's earlier commands. The command itself may
+     * return an incomplete future, as ledger commands do.
+     */
+    private static <T> CompletableFuture<T> submit(BankAccount account, Command<T> command) {
+        return submit(account.getAccountNumber(), command);
+    }
+
+    private static <T> CompletableFuture<T> submit(String accountNumber, Command<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        pending.compute(accountNumber, (number, previous) -> {
+            CompletableFuture<?> ready = previous != null ? previous : CompletableFuture.completedFuture(null);
+            ready.whenComplete((ignored, error) -> {
+                try {
+                    executor.execute(() -> run(command, result));
+                } catch (RejectedExecutionException e) {
+                    result.completeExceptionally(e);
+                }
+            });
+            return result;
+        });
+        result.whenComplete((value, error) -> pending.remove(accountNumber, result));
+        return result;
+    }
+
+    private static <T> void run(Command<T> command, CompletableFuture<T> result) {
+        try {
+            command.call().whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        } catch (Exception e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    private interface Command<T> {
+        CompletableFuture<T> call() throws Exception;
+    }
+}
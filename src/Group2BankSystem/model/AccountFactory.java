@@ -12,6 +12,8 @@ public class AccountFactory {
         switch (accountType) {
             case "Checking Account":
                 return new CheckingAccount(accountNumber, accountHolderName, initialAmount) {
+                    private static final long serialVersionUID = 4321704195822518974L;
+
                     @Override
                     public boolean chargeToCard(double amount) {
                         return false;
@@ -34,18 +36,15 @@ public class AccountFactory {
 
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-                        if (balance + getOverdraftLimit() < amount) {
-                            throw new InsufficientFundsException(balance + getOverdraftLimit(), amount);
+                        if (getBalance() + getOverdraftLimit() < amount) {
+                            throw new InsufficientFundsException(getBalance() + getOverdraftLimit(), amount);
                         }
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
             case "Investment Account":
                 return new InvestmentAccount(accountNumber, accountHolderName, initialAmount) {
+                    private static final long serialVersionUID = 8626310480105552546L;
+
                     @Override
                     public boolean encashCheck(double amount) throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
                         return false;
@@ -63,7 +62,7 @@ public class AccountFactory {
 
                     @Override
                     public double computeMonthlyInterest() {
-                        return balance * 0.05; // Example fixed interest
+                        return getBalance() * 0.05; // Example fixed interest
                     }
 
                     @Override
@@ -73,18 +72,15 @@ public class AccountFactory {
 
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-                        if (balance - amount < minimumBalance) {
-                            throw new InsufficientFundsException(balance - minimumBalance, amount);
+                        if (getBalance() - amount < getMinimumBalance()) {
+                            throw new InsufficientFundsException(getBalance() - getMinimumBalance(), amount);
                         }
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
             case "Credit Card Account":
                 return new CreditCardAccount(accountNumber, accountHolderName, initialAmount) {
+                    private static final long serialVersionUID = -4836655585238164169L;
+
                     @Override
                     public boolean encashCheck(double amount) throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
                         return false;
@@ -123,14 +119,11 @@ public class AccountFactory {
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
             default:
                 return new BankAccount(accountNumber, accountHolderName, initialAmount) {
+                    private static final long serialVersionUID = 1098089258314739232L;
+
                     @Override
                     public boolean encashCheck(double amount) throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
                         return false;
@@ -158,15 +151,10 @@ public class AccountFactory {
 
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-                        if (balance - amount < minimumBalance) {
-                            throw new InsufficientFundsException(balance - minimumBalance, amount);
+                        if (getBalance() - amount < getMinimumBalance()) {
+                            throw new InsufficientFundsException(getBalance() - getMinimumBalance(), amount);
                         }
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
         }
     }
@@ -185,6 +173,8 @@ public class AccountFactory {
                         oldAccount.getAccountHolderName(),
                         oldAccount.getBalance()
                 ) {
+                    private static final long serialVersionUID = 7049404852183101623L;
+
                     @Override
                     public boolean chargeToCard(double amount) {
                         return false;
@@ -207,21 +197,18 @@ public class AccountFactory {
 
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-                        if (balance + getOverdraftLimit() < amount) {
-                            throw new InsufficientFundsException(balance + getOverdraftLimit(), amount);
+                        if (getBalance() + getOverdraftLimit() < amount) {
+                            throw new InsufficientFundsException(getBalance() + getOverdraftLimit(), amount);
                         }
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
                 case "Investment Account" -> new InvestmentAccount(
                         oldAccount.getAccountNumber(),
                         oldAccount.getAccountHolderName(),
                         oldAccount.getBalance()
                 ) {
+                    private static final long serialVersionUID = -1138384091876383685L;
+
                     @Override
                     public boolean encashCheck(double amount) throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
                         return false;
@@ -239,7 +226,7 @@ public class AccountFactory {
 
                     @Override
                     public double computeMonthlyInterest() {
-                        return balance * 0.05;
+                        return getBalance() * 0.05;
                     }
 
                     @Override
@@ -249,21 +236,18 @@ public class AccountFactory {
 
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-                        if (balance - minimumBalance < amount) {
-                            throw new InsufficientFundsException(balance - minimumBalance, amount);
+                        if (getBalance() - getMinimumBalance() < amount) {
+                            throw new InsufficientFundsException(getBalance() - getMinimumBalance(), amount);
                         }
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
                 case "Credit Card Account" -> new CreditCardAccount(
                         oldAccount.getAccountNumber(),
                         oldAccount.getAccountHolderName(),
                         oldAccount.getBalance()
                 ) {
+                    private static final long serialVersionUID = -1194917754188778459L;
+
                     @Override
                     public boolean encashCheck(double amount) throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
                         return false;
@@ -302,17 +286,14 @@ public class AccountFactory {
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
                 default -> new BankAccount(
                         oldAccount.getAccountNumber(),
                         oldAccount.getAccountHolderName(),
                         oldAccount.getBalance()
                 ) {
+                    private static final long serialVersionUID = -8805187786516660571L;
+
                     @Override
                     public boolean encashCheck(double amount) throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
                         return false;
@@ -340,15 +321,10 @@ public class AccountFactory {
 
                     @Override
                     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-                        if (balance - minimumBalance < amount) {
-                            throw new InsufficientFundsException(balance - minimumBalance, amount);
+                        if (getBalance() - getMinimumBalance() < amount) {
+                            throw new InsufficientFundsException(getBalance() - getMinimumBalance(), amount);
                         }
                     }
-
-                    @Override
-                    public boolean transfer(BankAccount target, double amountValue) {
-                        return false;
-                    }
                 };
             };
         } catch (InvalidAmountException e) {
@@ -0,0 +1,167 @@
+package Group2BankSystem.model;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot plus delta log persistence for accounts.
+ * <p>
+ * Each account change is appended to the delta log as one serialized account. A checkpoint
+ * rotates the log aside, writes a full snapshot and then discards the rotated log, so loading
+ * reads the snapshot and replays only the changes made since it was taken.
+ * </p>
+ * <p>
+ * Until a load has read every file, checkpoints are refused, so a snapshot or log that could
+ * not be read is never replaced by the partial set of accounts that did load. Appends are
+ * still accepted; they only add to the log.
+ * </p>
+ */
+class AccountJournal {
+    private final File snapshotFile;
+    private final File logFile;
+    private final File rotatedLogFile;
+    private final Object checkpointLock = new Object();
+
+    private DataOutputStream log;
+    private int changesSinceCheckpoint;
+    private boolean loaded;
+
+    AccountJournal(String snapshotFileName, String logFileName) {
+        this.snapshotFile = new File(snapshotFileName);
+        this.logFile = new File(logFileName);
+        this.rotatedLogFile = new File(logFileName + ".prev");
+    }
+
+    synchronized void append(BankAccount... changed) throws IOException {
+        List<ByteArrayOutputStream> records = new ArrayList<>(changed.length);
+        for (BankAccount account : changed) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+            try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                oos.writeObject(account);
+            }
+            records.add(bytes);
+        }
+        try {
+            DataOutputStream out = openLog();
+            for (ByteArrayOutputStream bytes : records) {
+                out.writeInt(bytes.size());
+                bytes.writeTo(out);
+            }
+            out.flush();
+        } catch (IOException e) {
+            log = null;
+            throw e;
+        }
+        changesSinceCheckpoint += changed.length;
+    }
+
+    synchronized int getChangesSinceCheckpoint() {
+        return changesSinceCheckpoint;
+    }
+
+    synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Loads the newest snapshot followed by the delta logs. Later records for an account
+     * replace earlier ones. Fails if any file cannot be read, leaving the files untouched.
+     */
+    synchronized void load(Consumer<BankAccount> consumer) throws IOException, ClassNotFoundException {
+        loaded = false;
+        if (!snapshotFile.exists() && !logFile.exists() && !rotatedLogFile.exists()) {
+            loaded = true;
+            throw new FileNotFoundException(snapshotFile.getPath());
+        }
+        if (snapshotFile.exists()) {
+            try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+                for (Object account : (Collection<?>) ois.readObject()) {
+                    consumer.accept((BankAccount) account);
+                }
+            } catch (ClassCastException e) {
+                throw new InvalidObjectException("Unexpected content in " + snapshotFile + ": " + e.getMessage());
+            }
+        }
+        replayLog(rotatedLogFile, consumer);
+        long validEnd = replayLog(logFile, consumer);
+        if (validEnd < logFile.length()) {
+            closeLog();
+            try (RandomAccessFile raf = new RandomAccessFile(logFile, "rw")) {
+                raf.setLength(validEnd);
+            }
+        }
+        changesSinceCheckpoint = 0;
+        loaded = true;
+    }
+
+    /**
+     * Writes a full snapshot of the given accounts and drops the log entries it covers.
+     * Appends continue into a fresh log while the snapshot is being written.
+     */
+    void checkpoint(Collection<BankAccount> accounts) throws IOException {
+        synchronized (checkpointLock) {
+            synchronized (this) {
+                if (!loaded) {
+                    throw new IOException("Accounts were not fully loaded; keeping " + snapshotFile + " as it is");
+                }
+                closeLog();
+                if (!rotatedLogFile.exists() && logFile.exists()) {
+                    Files.move(logFile.toPath(), rotatedLogFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+                changesSinceCheckpoint = 0;
+            }
+
+            File tempFile = new File(snapshotFile.getPath() + ".tmp");
+            try (ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                oos.writeObject(new ArrayList<>(accounts));
+            }
+            Files.move(tempFile.toPath(), snapshotFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(rotatedLogFile.toPath());
+        }
+    }
+
+    private long replayLog(File file, Consumer<BankAccount> consumer) throws IOException, ClassNotFoundException {
+        if (!file.exists()) return 0;
+        long length = file.length();
+        long validEnd = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                byte[] record;
+                try {
+                    int size = in.readInt();
+                    if (size <= 0 || validEnd + 4 + size > length) break;
+                    record = new byte[size];
+                    in.readFully(record);
+                } catch (EOFException e) {
+                    break;
+                }
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(record))) {
+                    consumer.accept((BankAccount) ois.readObject());
+                }
+                validEnd += 4 + record.length;
+            }
+        }
+        return validEnd;
+    }
+
+    private DataOutputStream openLog() throws IOException {
+        if (log == null) {
+            log = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile, true)));
+        }
+        return log;
+    }
+
+    private void closeLog() throws IOException {
+        if (log != null) {
+            DataOutputStream closing = log;
+            log = null;
+            closing.close();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package Group2BankSystem.model;
+
+/**
+ * Striped monitors keyed by account number.
+ * <p>
+ * Operations on the same account always share a stripe, while unrelated accounts usually
+ * land on different stripes and can proceed in parallel. Code that needs two stripes at
+ * once must take them in ascending {@link #stripeOf(String)} order.
+ * </p>
+ */
+final class AccountLocks {
+    private static final int STRIPE_COUNT = Integer.highestOneBit(
+            Math.max(1, Integer.getInteger("bank.lockStripes", 256)));
+    private static final Object[] STRIPES = new Object[STRIPE_COUNT];
+
+    static {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            STRIPES[i] = new Object();
+        }
+    }
+
+    private AccountLocks() {
+    }
+
+    static Object lockFor(String accountNumber) {
+        return STRIPES[stripeOf(accountNumber)];
+    }
+
+    static int stripeOf(String accountNumber) {
+        int h = accountNumber.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPE_COUNT - 1);
+    }
+}
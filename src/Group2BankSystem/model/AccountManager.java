@@ -3,29 +3,75 @@ package Group2BankSystem.model;
 import Group2BankSystem.exceptions.AccountClosedException;
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public class AccountManager {
     private static final String ACCOUNTS_FILE = "accounts.dat";
+    private static final String ACCOUNTS_LOG_FILE = "accounts.log";
+    private static final long CHECKPOINT_INTERVAL_SECONDS = Long.getLong("bank.accounts.checkpointSeconds", 60L);
+    private static final int CHECKPOINT_AFTER_CHANGES = Integer.getInteger("bank.accounts.checkpointChanges", 10_000);
+    private static final String[] ACCOUNT_TYPES =
+            {"Bank Account", "Checking Account", "Investment Account", "Credit Card Account"};
     private static final Map<String, BankAccount> accounts = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, BankAccount>> accountsByType = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> TYPE_CLASSES = Map.of(
+            CheckingAccount.class, "Checking Account",
+            InvestmentAccount.class, "Investment Account",
+            CreditCardAccount.class, "Credit Card Account");
+    private static final AccountJournal journal = new AccountJournal(ACCOUNTS_FILE, ACCOUNTS_LOG_FILE);
+    private static final AccountSearchIndex searchIndex = new AccountSearchIndex();
+    private static final ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "account-checkpoint");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     static {
         loadAccounts();
+        checkpointer.scheduleWithFixedDelay(AccountManager::checkpoint,
+                CHECKPOINT_INTERVAL_SECONDS, CHECKPOINT_INTERVAL_SECONDS, TimeUnit.SECONDS);
     }
 
-    public static synchronized void addAccount(BankAccount account) {
-        accounts.put(account.getAccountNumber(), account);
-        saveAccounts();
+    public static void addAccount(BankAccount account) {
+        synchronized (AccountLocks.lockFor(account.getAccountNumber())) {
+            register(account);
+            logAccounts(account);
+        }
     }
 
     public static List<BankAccount> getAccounts() {
         return new ArrayList<>(accounts.values());
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Returns the accounts that are instances of {@code type}. The account classes are read
+     * straight from their type registry; other classes fall back to a scan.
+     */
     public static <T extends BankAccount> List<T> getAccounts(Class<T> type) {
-        return accounts.values().stream()
+        String accountType = TYPE_CLASSES.get(type);
+        Collection<BankAccount> candidates = accountType != null ? registryFor(accountType).values() : accounts.values();
+        return castAll(type, candidates);
+    }
+
+    /**
+     * Returns the accounts whose {@link BankAccount#getAccountType()} is {@code accountType}.
+     */
+    public static List<BankAccount> getAccountsOfType(String accountType) {
+        return new ArrayList<>(registryFor(accountType).values());
+    }
+
+    public static int getAccountCount(String accountType) {
+        return registryFor(accountType).size();
+    }
+
+    private static <T extends BankAccount> List<T> castAll(Class<T> type, Collection<BankAccount> candidates) {
+        return candidates.stream()
                 .filter(type::isInstance)
                 .map(type::cast)
                 .collect(Collectors.toList());
@@ -35,52 +81,150 @@ public class AccountManager {
         return Optional.ofNullable(accounts.get(accountNumber));
     }
 
-    public static synchronized void updateAccount(BankAccount updatedAccount) {
-        accounts.put(updatedAccount.getAccountNumber(), updatedAccount);
-        saveAccounts();
+    public static void updateAccount(BankAccount updatedAccount) {
+        synchronized (AccountLocks.lockFor(updatedAccount.getAccountNumber())) {
+            register(updatedAccount);
+            logAccounts(updatedAccount);
+        }
+    }
+
+    /**
+     * Stores several changed accounts with a single log write. Callers hold the stripe locks
+     * of every account passed in.
+     */
+    static void updateAccounts(BankAccount... updatedAccounts) {
+        for (BankAccount account : updatedAccounts) {
+            register(account);
+        }
+        logAccounts(updatedAccounts);
+    }
+
+    /**
+     * Stores an account and files it under its type, moving it when a conversion changed the
+     * type. Callers hold the account's stripe lock.
+     */
+    private static void register(BankAccount account) {
+        BankAccount previous = accounts.put(account.getAccountNumber(), account);
+        if (previous != null && !previous.getAccountType().equals(account.getAccountType())) {
+            registryFor(previous.getAccountType()).remove(account.getAccountNumber());
+        }
+        registryFor(account.getAccountType()).put(account.getAccountNumber(), account);
+        searchIndex.put(account);
+        BankEvents.publish(BankEvent.of(previous == null ? BankEvent.Type.ACCOUNT_ADDED : BankEvent.Type.ACCOUNT_CHANGED, account));
+    }
+
+    private static Map<String, BankAccount> registryFor(String accountType) {
+        return accountsByType.computeIfAbsent(accountType, type -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Logs accounts that were changed in place, with a single log write.
+     */
+    static void persistAccounts(Collection<BankAccount> changed) {
+        logAccounts(changed.toArray(new BankAccount[0]));
+        changed.forEach(account -> BankEvents.publish(BankEvent.of(BankEvent.Type.ACCOUNT_CHANGED, account)));
     }
 
     public static List<BankAccount> searchAccounts(String query) {
-        String lowerQuery = query.toLowerCase();
-        return accounts.values().stream()
-                .filter(a -> a.getAccountNumber().contains(query) ||
-                        a.getAccountHolderName().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
+        return suggestAccounts(query, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns at most {@code limit} accounts whose number or holder name contains {@code query},
+     * prefix matches first. When that leaves room, accounts whose type starts with the query
+     * fill the rest.
+     */
+    public static List<BankAccount> suggestAccounts(String query, int limit) {
+        List<BankAccount> matches = new ArrayList<>();
+        for (String number : searchIndex.search(query, limit)) {
+            BankAccount account = accounts.get(number);
+            if (account != null) matches.add(account);
+        }
+        if (limit == Integer.MAX_VALUE) {
+            return matches;
+        }
+        String lowerQuery = query.trim().toLowerCase();
+        for (String type : ACCOUNT_TYPES) {
+            if (lowerQuery.isEmpty() || matches.size() >= limit) break;
+            if (!type.toLowerCase().startsWith(lowerQuery)) continue;
+            for (BankAccount account : registryFor(type).values()) {
+                if (matches.size() >= limit) break;
+                if (!matches.contains(account)) matches.add(account);
+            }
+        }
+        return matches;
     }
 
-    public static synchronized void applyMonthlyInterest() {
+    public static void applyMonthlyInterest() {
+        if (Ledger.isEnabled()) {
+            List<CompletableFuture<Long>> pending = new ArrayList<>();
+            getAccounts(InvestmentAccount.class).forEach(account -> pending.add(Ledger.applyMonthlyInterest(account)
+                    .exceptionally(e -> {
+                        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                        if (cause instanceof AccountClosedException) {
+                            System.err.println("Skipped closed account: " + account.getAccountNumber());
+                        } else {
+                            System.err.println("Error applying interest to " + account.getAccountNumber() + ": " + cause);
+                        }
+                        return null;
+                    })));
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+            return;
+        }
         getAccounts(InvestmentAccount.class).forEach(account -> {
-            try {
-                account.applyMonthlyInterest();
-            } catch (AccountClosedException e) {
-                System.err.println("Skipped closed account: " + account.getAccountNumber());
+            synchronized (AccountLocks.lockFor(account.getAccountNumber())) {
+                try {
+                    account.applyMonthlyInterest();
+                    logAccounts(account);
+                    BankEvents.publish(BankEvent.of(BankEvent.Type.ACCOUNT_CHANGED, account));
+                } catch (AccountClosedException e) {
+                    System.err.println("Skipped closed account: " + account.getAccountNumber());
+                }
             }
         });
-        saveAccounts();
     }
 
     public static synchronized void reloadAccounts() {
         loadAccounts();
+        BankEvents.publish(BankEvent.of(BankEvent.Type.ACCOUNTS_RELOADED));
     }
 
-    private static synchronized void saveAccounts() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(ACCOUNTS_FILE))) {
-            oos.writeObject(new ArrayList<>(accounts.values()));
+    private static void logAccounts(BankAccount... changed) {
+        try {
+            journal.append(changed);
         } catch (IOException e) {
             System.err.println("Error saving accounts: " + e.getMessage());
+            return;
+        }
+        if (journal.getChangesSinceCheckpoint() >= CHECKPOINT_AFTER_CHANGES) {
+            checkpointer.execute(AccountManager::checkpoint);
+        }
+    }
+
+    private static void checkpoint() {
+        if (journal.getChangesSinceCheckpoint() == 0 || !journal.isLoaded()) return;
+        try {
+            journal.checkpoint(accounts.values());
+        } catch (IOException e) {
+            System.err.println("Error writing account snapshot: " + e.getMessage());
         }
     }
 
-    @SuppressWarnings("unchecked")
     private static synchronized void loadAccounts() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(ACCOUNTS_FILE))) {
-            List<BankAccount> loaded = (List<BankAccount>) ois.readObject();
-            accounts.clear();
-            loaded.forEach(acc -> accounts.put(acc.getAccountNumber(), acc));
+        accounts.clear();
+        accountsByType.clear();
+        searchIndex.clear();
+        try {
+            journal.load(acc -> accounts.put(acc.getAccountNumber(), acc));
         } catch (FileNotFoundException e) {
             System.out.println("No existing accounts file. Starting fresh.");
         } catch (IOException | ClassNotFoundException e) {
-            System.err.println("Error loading accounts: " + e.getMessage());
+            System.err.println("Error loading accounts: " + e.getMessage()
+                    + ". The account snapshot will not be rewritten until it loads.");
+        }
+        for (BankAccount account : accounts.values()) {
+            registryFor(account.getAccountType()).put(account.getAccountNumber(), account);
+            searchIndex.put(account);
         }
     }
 }
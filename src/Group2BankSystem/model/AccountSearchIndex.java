@@ -0,0 +1,103 @@
+package Group2BankSystem.model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Lookup structures for finding accounts by holder name or account number.
+ * <p>
+ * A sorted term map acts as the prefix trie: the account number, the full lower-cased name and
+ * each name word are terms, and a prefix query is a range scan over it. A trigram index answers
+ * substring queries of three or more characters; candidates from the rarest trigram are checked
+ * against the real text. Shorter queries have no trigram, so every account is checked against
+ * the text instead. Searches stop as soon as they have {@code limit} accounts, prefix matches
+ * first.
+ * </p>
+ */
+final class AccountSearchIndex {
+    private final ConcurrentSkipListMap<String, Set<String>> terms = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> trigrams = new ConcurrentHashMap<>();
+    private final Map<String, String> indexedNames = new ConcurrentHashMap<>();
+
+    synchronized void put(BankAccount account) {
+        String number = account.getAccountNumber();
+        String name = normalize(account.getAccountHolderName());
+        String previous = indexedNames.put(number, name);
+        if (name.equals(previous)) return;
+        if (previous != null) {
+            forEachKey(number, previous, (map, key) -> {
+                Set<String> accounts = map.get(key);
+                if (accounts != null) accounts.remove(number);
+            });
+        }
+        forEachKey(number, name, (map, key) -> map.computeIfAbsent(key, k -> new ConcurrentSkipListSet<>()).add(number));
+    }
+
+    synchronized void clear() {
+        terms.clear();
+        trigrams.clear();
+        indexedNames.clear();
+    }
+
+    /**
+     * Returns up to {@code limit} account numbers whose number or holder name contains
+     * {@code query}. Prefix matches of the number, the name or a name word come first.
+     */
+    List<String> search(String query, int limit) {
+        String needle = normalize(query);
+        Set<String> found = new LinkedHashSet<>();
+        if (needle.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        for (Set<String> accounts : terms.subMap(needle, true, needle + Character.MAX_VALUE, false).values()) {
+            for (String number : accounts) {
+                found.add(number);
+                if (found.size() >= limit) return new ArrayList<>(found);
+            }
+        }
+
+        Set<String> candidates = indexedNames.keySet();
+        if (needle.length() >= 3) {
+            Set<String> rarest = null;
+            for (int i = 0; i + 3 <= needle.length(); i++) {
+                Set<String> accounts = trigrams.get(needle.substring(i, i + 3));
+                if (accounts == null) return new ArrayList<>(found);
+                if (rarest == null || accounts.size() < rarest.size()) rarest = accounts;
+            }
+            candidates = rarest;
+        }
+        for (String number : candidates) {
+            if (found.contains(number)) continue;
+            String name = indexedNames.get(number);
+            if (number.contains(needle) || (name != null && name.contains(needle))) {
+                found.add(number);
+                if (found.size() >= limit) break;
+            }
+        }
+        return new ArrayList<>(found);
+    }
+
+    private void forEachKey(String number, String name, KeyAction action) {
+        action.apply(terms, number);
+        action.apply(terms, name);
+        for (String word : name.split(" ")) {
+            if (!word.isEmpty()) action.apply(terms, word);
+        }
+        for (String text : new String[]{number, name}) {
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                action.apply(trigrams, text.substring(i, i + 3));
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private interface KeyAction {
+        void apply(Map<String, Set<String>> map, String key);
+    }
+}
@@ -0,0 +1,94 @@
+package Group2BankSystem.model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static Group2BankSystem.model.TransactionAggregates.dayOf;
+import static Group2BankSystem.model.TransactionAggregates.startOfDay;
+
+/**
+ * Day-close checkpoints of each account's running transaction total.
+ * <p>
+ * A checkpoint for a day holds the sum of the account's transaction amounts up to the end of
+ * that day. Checkpoints are taken when the first transaction of a later day is indexed, and
+ * again by queries that replay across a day close. Back-dated or amended transactions drop the
+ * checkpoints from their day onward, which later queries rebuild. Accounts may start with a
+ * balance that no transaction records, so a balance is the current balance minus the total of
+ * transactions after the requested time.
+ * </p>
+ * <p>
+ * All methods for one account are called with that account's stripe lock held.
+ * </p>
+ */
+final class BalanceCheckpoints {
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Records that {@code transaction}, stored under {@code key} in {@code transactions}, moved
+     * the account's total by {@code deltaCents}.
+     */
+    void record(TransactionManager.TimeKey key, Transaction transaction, long deltaCents, boolean added,
+                NavigableMap<TransactionManager.TimeKey, Transaction> transactions) {
+        History history = histories.computeIfAbsent(transaction.getAccountNumber(), k -> new History());
+        history.totalCents += deltaCents;
+        long day = dayOf(key.epochMillis);
+        TransactionManager.TimeKey previous = transactions.lowerKey(key);
+        if (added && transactions.higherKey(key) == null) {
+            if (previous != null && dayOf(previous.epochMillis) < day) {
+                history.dayCloses.put(dayOf(previous.epochMillis), history.totalCents - deltaCents);
+            }
+        } else {
+            history.dayCloses.tailMap(day, true).clear();
+        }
+    }
+
+    void clear() {
+        histories.clear();
+    }
+
+    /**
+     * Returns the account's balance after every transaction dated at or before {@code at}.
+     */
+    long balanceAt(BankAccount account, Date at, NavigableMap<TransactionManager.TimeKey, Transaction> transactions) {
+        History history = histories.get(account.getAccountNumber());
+        if (history == null || transactions == null) {
+            return account.getBalanceCents();
+        }
+        long openingCents = account.getBalanceCents() - history.totalCents;
+        return openingCents + totalThrough(history, at.getTime(), transactions);
+    }
+
+    /**
+     * Starts from the nearest day close before {@code atMillis} and adds the transactions after
+     * it, taking a checkpoint at each day close the replay passes.
+     */
+    private static long totalThrough(History history, long atMillis,
+                                     NavigableMap<TransactionManager.TimeKey, Transaction> transactions) {
+        Map.Entry<Long, Long> checkpoint = history.dayCloses.floorEntry(dayOf(atMillis) - 1);
+        long total = 0;
+        long day = Long.MIN_VALUE;
+        NavigableMap<TransactionManager.TimeKey, Transaction> replay = transactions;
+        if (checkpoint != null) {
+            total = checkpoint.getValue();
+            day = checkpoint.getKey();
+            replay = transactions.tailMap(TransactionManager.TimeKey.first(startOfDay(day + 1)), true);
+        }
+
+        for (Map.Entry<TransactionManager.TimeKey, Transaction> entry
+                : replay.headMap(TransactionManager.TimeKey.last(atMillis), true).entrySet()) {
+            long transactionDay = dayOf(entry.getKey().epochMillis);
+            if (transactionDay > day) {
+                if (day != Long.MIN_VALUE) history.dayCloses.put(day, total);
+                day = transactionDay;
+            }
+            total += entry.getValue().getAmountCents();
+        }
+        return total;
+    }
+
+    private static final class History {
+        final ConcurrentSkipListMap<Long, Long> dayCloses = new ConcurrentSkipListMap<>();
+        long totalCents;
+    }
+}
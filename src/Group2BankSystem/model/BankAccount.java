@@ -1,26 +1,35 @@
 package Group2BankSystem.model;
 
 import Group2BankSystem.exceptions.*;
-import java.io.Serializable;
+import java.io.*;
 
 public abstract class BankAccount extends Account implements Serializable {
-    protected double minimumBalance;
+    private static final long serialVersionUID = 8077184336819376467L;
+
+    // Keeps the serialized form of earlier releases, which stored money as doubles.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("minimumBalance", double.class)
+    };
+
+    protected long minimumBalanceCents;
 
     public BankAccount(String accountNumber, String accountHolderName, double initialDeposit)
             throws InvalidAmountException {
         super(accountNumber, accountHolderName, initialDeposit);
-        this.minimumBalance = 0;
+        this.minimumBalanceCents = 0;
         this.accountType = "Bank Account";
     }
 
     @Override
     public boolean deposit(double amount) throws InvalidAmountException, AccountClosedException {
         if (!isActive) throw new AccountClosedException(accountNumber);
-        if (amount <= 0) throw new InvalidAmountException("Deposit amount must be positive");
+        long cents = Money.toCents(amount);
+        if (cents <= 0) throw new InvalidAmountException("Deposit amount must be positive");
 
-        balance += amount;
-        updateLastModifiedDate();
-        TransactionManager.addTransaction(accountNumber, "DEPOSIT", amount, "Cash deposit");
+        post("DEPOSIT", "Cash deposit", () -> {
+            addToBalance(cents);
+            return cents;
+        });
         return true;
     }
 
@@ -28,28 +37,55 @@ public abstract class BankAccount extends Account implements Serializable {
     public boolean withdraw(double amount)
             throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
         if (!isActive) throw new AccountClosedException(accountNumber);
-        if (amount <= 0) throw new InvalidAmountException("Withdrawal amount must be positive");
-        if (balance - amount < minimumBalance) {
-            throw new InsufficientFundsException(balance - minimumBalance, amount);
-        }
+        long cents = Money.toCents(amount);
+        if (cents <= 0) throw new InvalidAmountException("Withdrawal amount must be positive");
 
-        balance -= amount;
-        updateLastModifiedDate();
-        TransactionManager.addTransaction(accountNumber, "WITHDRAWAL", -amount, "Cash withdrawal");
+        post("WITHDRAWAL", "Cash withdrawal", () -> {
+            debit(cents);
+            return -cents;
+        });
         return true;
     }
 
+    @Override
+    public boolean transfer(BankAccount target, double amountValue) {
+        try {
+            TransferEngine.transfer(this, target, amountValue);
+            return true;
+        } catch (InvalidAccountException | InvalidAmountException | InsufficientFundsException | AccountClosedException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Atomically takes {@code cents} from the balance without letting it drop below the
+     * minimum balance.
+     */
+    void debit(long cents) throws InsufficientFundsException {
+        long current;
+        do {
+            current = balanceCents;
+            if (current - cents < minimumBalanceCents) {
+                throw new InsufficientFundsException(Money.toAmount(current - minimumBalanceCents), Money.toAmount(cents));
+            }
+        } while (!compareAndSetBalance(current, current - cents));
+    }
+
     @Override
     public void closeAccount() {
         super.closeAccount();
     }
 
+    public double getMinimumBalance() {
+        return Money.toAmount(minimumBalanceCents);
+    }
+
     public void setMinimumBalance(double minimum) {
-        this.minimumBalance = minimum;
+        this.minimumBalanceCents = Money.toCents(minimum);
     }
 
     public void setBalance(double v) {
-        this.balance = v;
+        this.balanceCents = Money.toCents(v);
         updateLastModifiedDate();
     }
 
@@ -61,4 +97,15 @@ public abstract class BankAccount extends Account implements Serializable {
     public abstract boolean payCard(double amount);
 
     public abstract double computeMonthlyInterest();
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("minimumBalance", getMinimumBalance());
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        minimumBalanceCents = Money.toCents(fields.get("minimumBalance", 0.0));
+    }
 }
@@ -0,0 +1,53 @@
+package Group2BankSystem.model;
+
+/**
+ * A change to accounts or transactions, published through {@link BankEvents}.
+ * <p>
+ * Account events carry the account and transaction events carry the transaction; the other
+ * is null. Reload events carry neither and mean every earlier state should be read again.
+ * </p>
+ */
+public final class BankEvent {
+    public enum Type {
+        ACCOUNT_ADDED,
+        ACCOUNT_CHANGED,
+        ACCOUNTS_RELOADED,
+        TRANSACTION_APPENDED,
+        TRANSACTION_CHANGED,
+        TRANSACTIONS_RELOADED
+    }
+
+    private final Type type;
+    private final BankAccount account;
+    private final Transaction transaction;
+
+    private BankEvent(Type type, BankAccount account, Transaction transaction) {
+        this.type = type;
+        this.account = account;
+        this.transaction = transaction;
+    }
+
+    static BankEvent of(Type type, BankAccount account) {
+        return new BankEvent(type, account, null);
+    }
+
+    static BankEvent of(Type type, Transaction transaction) {
+        return new BankEvent(type, null, transaction);
+    }
+
+    static BankEvent of(Type type) {
+        return new BankEvent(type, null, null);
+    }
+
+    public Type getType() { return type; }
+    public BankAccount getAccount() { return account; }
+    public Transaction getTransaction() { return transaction; }
+
+    /**
+     * Returns the number of the account this event concerns, or null for reload events.
+     */
+    public String getAccountNumber() {
+        if (account != null) return account.getAccountNumber();
+        return transaction != null ? transaction.getAccountNumber() : null;
+    }
+}
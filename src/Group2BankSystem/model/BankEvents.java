@@ -0,0 +1,38 @@
+package Group2BankSystem.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Publishes account and transaction changes to subscribers.
+ * <p>
+ * Events are delivered on the thread that made the change, often while it holds account
+ * stripe locks, so subscribers must only record the event and return. UI code should hand
+ * events to the event dispatch thread rather than update components here.
+ * </p>
+ */
+public final class BankEvents {
+    private static final List<Consumer<BankEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    private BankEvents() {
+    }
+
+    public static void subscribe(Consumer<BankEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public static void unsubscribe(Consumer<BankEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    static void publish(BankEvent event) {
+        for (Consumer<BankEvent> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Error delivering " + event.getType() + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,37 +1,48 @@
 package Group2BankSystem.model;
 
 import Group2BankSystem.exceptions.*;
+import java.io.*;
 
 public abstract class CheckingAccount extends BankAccount {
-    private double overdraftLimit;
+    private static final long serialVersionUID = 6371201291173134082L;
+
+    // Keeps the serialized form of earlier releases, which stored money as doubles.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("overdraftLimit", double.class)
+    };
+
+    private long overdraftLimitCents;
 
     public CheckingAccount(String accountNumber, String accountHolderName, double initialDeposit)
             throws InvalidAmountException {
         super(accountNumber, accountHolderName, initialDeposit);
-        this.overdraftLimit = 1000;
-        this.minimumBalance = 300;
+        this.overdraftLimitCents = 1000_00;
+        this.minimumBalanceCents = 300_00;
         this.accountType = "Checking Account";
     }
 
     @Override
     public boolean encashCheck(double amount)
             throws InsufficientFundsException, AccountClosedException, InvalidAmountException {
-        withdraw(amount);
-        TransactionManager.addTransaction(accountNumber, "CHECK_ENCASHMENT", -amount, "Check encashment");
+        if (!isActive) throw new AccountClosedException(accountNumber);
+        long cents = Money.toCents(amount);
+        if (cents <= 0) throw new InvalidAmountException("Check amount must be positive");
+
+        post("CHECK_ENCASHMENT", "Check encashment", () -> {
+            debit(cents);
+            return -cents;
+        });
         return true;
     }
 
     public double getAvailableBalance() {
-        return balance + overdraftLimit;
+        return Money.toAmount(balanceCents + overdraftLimitCents);
     }
 
     public double getOverdraftLimit() {
-        return overdraftLimit;
+        return Money.toAmount(overdraftLimitCents);
     }
 
-    @Override
-    public abstract boolean transfer(BankAccount target, double amountValue);
-
     @Override
     public void setActive(boolean active) {
         this.isActive = active;
@@ -39,8 +50,19 @@ public abstract class CheckingAccount extends BankAccount {
 
     @Override
     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-        if (balance + overdraftLimit < amount) {
-            throw new InsufficientFundsException(balance + overdraftLimit, amount);
+        if (getAvailableBalance() < amount) {
+            throw new InsufficientFundsException(getAvailableBalance(), amount);
         }
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("overdraftLimit", getOverdraftLimit());
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        overdraftLimitCents = Money.toCents(fields.get("overdraftLimit", 0.0));
+    }
 }
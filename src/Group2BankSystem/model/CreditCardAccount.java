@@ -1,44 +1,62 @@
 package Group2BankSystem.model;
 
 import Group2BankSystem.exceptions.*;
+import java.io.*;
 
 public abstract class CreditCardAccount extends BankAccount {
-    private double creditLimit;
+    private static final long serialVersionUID = 4692967932639616985L;
+
+    // Keeps the serialized form of earlier releases, which stored money as doubles.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("creditLimit", double.class)
+    };
+
+    private long creditLimitCents;
 
     public CreditCardAccount(String accountNumber, String accountHolderName, double creditLimit)
             throws InvalidAmountException {
         super(accountNumber, accountHolderName, 0);
         if (creditLimit < 5000) throw new InvalidAmountException("Minimum credit limit: 5000");
-        this.creditLimit = creditLimit;
+        this.creditLimitCents = Money.toCents(creditLimit);
         this.accountType = "Credit Card Account";
     }
 
     public void charge(double amount) throws TransactionLimitException, AccountClosedException {
         if (!isActive) throw new AccountClosedException(accountNumber);
-        if (amount > getAvailableCredit()) {
-            throw new TransactionLimitException(getAvailableCredit());
-        }
-
-        balance += amount;
-        updateLastModifiedDate();
-        TransactionManager.addTransaction(accountNumber, "CREDIT_CHARGE", amount, "Credit charge");
+        long cents = Money.toCents(amount);
+        post("CREDIT_CHARGE", "Credit charge", () -> {
+            long current;
+            do {
+                current = balanceCents;
+                if (cents > creditLimitCents - current) {
+                    throw new TransactionLimitException(Money.toAmount(creditLimitCents - current));
+                }
+            } while (!compareAndSetBalance(current, current + cents));
+            return cents;
+        });
     }
 
     public void makePayment(double amount) throws AccountClosedException, InvalidAmountException {
         if (!isActive) throw new AccountClosedException(accountNumber);
-        if (amount <= 0) throw new InvalidAmountException("Payment amount must be positive");
+        long cents = Money.toCents(amount);
+        if (cents <= 0) throw new InvalidAmountException("Payment amount must be positive");
 
-        balance -= amount;
-        updateLastModifiedDate();
-        TransactionManager.addTransaction(accountNumber, "PAYMENT", -amount, "Credit payment");
+        post("PAYMENT", "Credit payment", () -> {
+            addToBalance(-cents);
+            return -cents;
+        });
     }
 
     public double getAvailableCredit() {
-        return creditLimit - balance;
+        return Money.toAmount(creditLimitCents - balanceCents);
     }
 
     public double getCreditLimit() {
-        return creditLimit;
+        return Money.toAmount(creditLimitCents);
+    }
+
+    public long getCreditLimitCents() {
+        return creditLimitCents;
     }
 
     @Override
@@ -50,6 +68,14 @@ public abstract class CreditCardAccount extends BankAccount {
     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
     }
 
-    @Override
-    public abstract boolean transfer(BankAccount target, double amountValue);
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("creditLimit", getCreditLimit());
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        creditLimitCents = Money.toCents(fields.get("creditLimit", 0.0));
+    }
 }
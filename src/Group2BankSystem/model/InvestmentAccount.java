@@ -1,26 +1,40 @@
 package Group2BankSystem.model;
 
 import Group2BankSystem.exceptions.*;
+import java.io.*;
 
 public abstract class InvestmentAccount extends BankAccount {
+    private static final long serialVersionUID = 6705395013014536087L;
+
+    // Keeps the serialized form of earlier releases, which stored money as doubles.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("interestRate", double.class),
+            new ObjectStreamField("totalInterestEarned", double.class)
+    };
+
     private double interestRate;
-    private double totalInterestEarned;
+    private long totalInterestEarnedCents;
 
     public InvestmentAccount(String accountNumber, String accountHolderName, double initialDeposit)
             throws InvalidAmountException {
         super(accountNumber, accountHolderName, initialDeposit);
         this.interestRate = 0.05;
-        this.minimumBalance = 500;
+        this.minimumBalanceCents = 500_00;
         this.accountType = "Investment Account";
     }
 
     public void applyMonthlyInterest() throws AccountClosedException {
         if (!isActive) throw new AccountClosedException(accountNumber);
-        double interest = balance * interestRate;
-        balance += interest;
-        totalInterestEarned += interest;
-        updateLastModifiedDate();
-        TransactionManager.addTransaction(accountNumber, "INTEREST", interest, "Monthly interest");
+        post("INTEREST", "Monthly interest", () -> {
+            long current;
+            long interest;
+            do {
+                current = balanceCents;
+                interest = Math.round(current * interestRate);
+            } while (!compareAndSetBalance(current, current + interest));
+            totalInterestEarnedCents += interest;
+            return interest;
+        });
     }
 
     public double getInterestRate() {
@@ -28,7 +42,7 @@ public abstract class InvestmentAccount extends BankAccount {
     }
 
     public double getTotalInterestEarned() {
-        return totalInterestEarned;
+        return Money.toAmount(totalInterestEarnedCents);
     }
 
     @Override
@@ -38,8 +52,21 @@ public abstract class InvestmentAccount extends BankAccount {
 
     @Override
     protected void validateSufficientFunds(double amount) throws InsufficientFundsException {
-        if (balance - amount < minimumBalance) {
-            throw new InsufficientFundsException(balance - minimumBalance, amount);
+        if (getBalance() - amount < getMinimumBalance()) {
+            throw new InsufficientFundsException(getBalance() - getMinimumBalance(), amount);
         }
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("interestRate", interestRate);
+        fields.put("totalInterestEarned", getTotalInterestEarned());
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        interestRate = fields.get("interestRate", 0.0);
+        totalInterestEarnedCents = Money.toCents(fields.get("totalInterestEarned", 0.0));
+    }
 }
@@ -0,0 +1,242 @@
+package Group2BankSystem.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Entry point for account mutations that may run through the single-writer ledger pipeline.
+ * <p>
+ * With {@code -Dbank.ledger.enabled=true} every command is published into a pre-allocated ring
+ * buffer. A sequencer thread applies commands to the accounts one at a time, and a journal
+ * thread writes the transactions and account records of everything applied so far in one
+ * batch before completing the callers' futures. Without the property, commands run on the
+ * calling thread and return an already completed future.
+ * </p>
+ * <p>
+ * Futures complete with the account balance in cents after the command, or exceptionally with
+ * the domain exception the command raised.
+ * </p>
+ */
+public final class Ledger {
+    private static final boolean ENABLED = Boolean.getBoolean("bank.ledger.enabled");
+    private static final int RING_SIZE = Integer.highestOneBit(
+            Math.max(2, Integer.getInteger("bank.ledger.ringSize", 1024)));
+    private static final int SPIN_TRIES = 200;
+
+    private static final Slot[] ring = new Slot[ENABLED ? RING_SIZE : 0];
+    private static final AtomicLong claimed = new AtomicLong(-1);
+    private static volatile long applied = -1;
+    private static volatile long journaled = -1;
+    private static volatile boolean sequencerParked;
+    private static volatile boolean journalerParked;
+    private static final Thread sequencer;
+    private static final Thread journaler;
+
+    static {
+        for (int i = 0; i < ring.length; i++) {
+            ring[i] = new Slot();
+        }
+        sequencer = ENABLED ? startThread(Ledger::sequenceLoop, "ledger-sequencer") : null;
+        journaler = ENABLED ? startThread(Ledger::journalLoop, "ledger-journal") : null;
+    }
+
+    private enum Operation { DEPOSIT, WITHDRAW, CHARGE, PAYMENT, INTEREST, CLOSE }
+
+    private Ledger() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static CompletableFuture<Long> deposit(BankAccount account, double amount) {
+        return submit(Operation.DEPOSIT, account, amount);
+    }
+
+    public static CompletableFuture<Long> withdraw(BankAccount account, double amount) {
+        return submit(Operation.WITHDRAW, account, amount);
+    }
+
+    public static CompletableFuture<Long> charge(CreditCardAccount account, double amount) {
+        return submit(Operation.CHARGE, account, amount);
+    }
+
+    public static CompletableFuture<Long> makePayment(CreditCardAccount account, double amount) {
+        return submit(Operation.PAYMENT, account, amount);
+    }
+
+    public static CompletableFuture<Long> applyMonthlyInterest(InvestmentAccount account) {
+        return submit(Operation.INTEREST, account, 0);
+    }
+
+    public static CompletableFuture<Long> closeAccount(BankAccount account) {
+        return submit(Operation.CLOSE, account, 0);
+    }
+
+    private static CompletableFuture<Long> submit(Operation operation, BankAccount account, double amount) {
+        if (!ENABLED) {
+            try {
+                apply(operation, account, amount);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            AccountManager.updateAccount(account);
+            return CompletableFuture.completedFuture(account.getBalanceCents());
+        }
+
+        long sequence = claimed.incrementAndGet();
+        while (sequence - RING_SIZE > journaled) {
+            LockSupport.parkNanos(10_000);
+        }
+        Slot slot = ring[index(sequence)];
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        slot.operation = operation;
+        slot.account = account;
+        slot.amount = amount;
+        slot.result = result;
+        slot.published = sequence;
+        if (sequencerParked) {
+            LockSupport.unpark(sequencer);
+        }
+        return result;
+    }
+
+    private static void sequenceLoop() {
+        long next = 0;
+        while (true) {
+            Slot slot = ring[index(next)];
+            if (slot.published != next) {
+                for (int i = 0; i < SPIN_TRIES && slot.published != next; i++) {
+                    Thread.onSpinWait();
+                }
+                if (slot.published != next) {
+                    sequencerParked = true;
+                    if (slot.published != next) {
+                        LockSupport.park();
+                    }
+                    sequencerParked = false;
+                    continue;
+                }
+            }
+
+            TransactionManager.beginCapture(slot.transactions);
+            try {
+                apply(slot.operation, slot.account, slot.amount);
+                slot.balance = slot.account.getBalanceCents();
+            } catch (Exception e) {
+                slot.error = e;
+            } finally {
+                TransactionManager.endCapture();
+            }
+            applied = next++;
+            if (journalerParked) {
+                LockSupport.unpark(journaler);
+            }
+        }
+    }
+
+    private static void journalLoop() {
+        List<List<Transaction>> batch = new ArrayList<>();
+        Set<BankAccount> changed = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (true) {
+            long from = journaled + 1;
+            if (applied < from) {
+                for (int i = 0; i < SPIN_TRIES && applied < from; i++) {
+                    Thread.onSpinWait();
+                }
+                if (applied < from) {
+                    journalerParked = true;
+                    if (applied < from) {
+                        LockSupport.park();
+                    }
+                    journalerParked = false;
+                    continue;
+                }
+            }
+
+            long to = applied;
+            for (long s = from; s <= to; s++) {
+                Slot slot = ring[index(s)];
+                if (slot.error == null) {
+                    if (!slot.transactions.isEmpty()) batch.add(new ArrayList<>(slot.transactions));
+                    changed.add(slot.account);
+                }
+            }
+
+            Throwable failure = null;
+            if (!batch.isEmpty()) {
+                try {
+                    TransactionManager.journalTransactions(batch).join();
+                } catch (CompletionException e) {
+                    failure = e.getCause();
+                    System.err.println("Error saving transactions: " + failure.getMessage());
+                }
+            }
+            if (!changed.isEmpty()) {
+                AccountManager.persistAccounts(changed);
+            }
+
+            for (long s = from; s <= to; s++) {
+                Slot slot = ring[index(s)];
+                if (slot.error != null) {
+                    slot.result.completeExceptionally(slot.error);
+                } else if (failure != null) {
+                    slot.result.completeExceptionally(failure);
+                } else {
+                    slot.result.complete(slot.balance);
+                }
+                slot.clear();
+            }
+            batch.clear();
+            changed.clear();
+            journaled = to;
+        }
+    }
+
+    private static void apply(Operation operation, BankAccount account, double amount) throws Exception {
+        switch (operation) {
+            case DEPOSIT -> account.deposit(amount);
+            case WITHDRAW -> account.withdraw(amount);
+            case CHARGE -> ((CreditCardAccount) account).charge(amount);
+            case PAYMENT -> ((CreditCardAccount) account).makePayment(amount);
+            case INTEREST -> ((InvestmentAccount) account).applyMonthlyInterest();
+            case CLOSE -> account.closeAccount();
+        }
+    }
+
+    private static int index(long sequence) {
+        return (int) sequence & (RING_SIZE - 1);
+    }
+
+    private static Thread startThread(Runnable loop, String name) {
+        Thread thread = new Thread(loop, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private static final class Slot {
+        final List<Transaction> transactions = new ArrayList<>(2);
+        volatile long published = -1;
+        Operation operation;
+        BankAccount account;
+        double amount;
+        long balance;
+        Exception error;
+        CompletableFuture<Long> result;
+
+        void clear() {
+            transactions.clear();
+            account = null;
+            error = null;
+            result = null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package Group2BankSystem.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money is held as a {@code long} number of cents everywhere in the model. These helpers convert
+ * at the edges, where amounts are typed in or shown as decimals.
+ */
+public final class Money {
+    public static final long CENTS_PER_UNIT = 100;
+
+    private Money() {
+    }
+
+    /**
+     * Rounds a decimal amount to the nearest cent.
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * CENTS_PER_UNIT);
+    }
+
+    public static double toAmount(long cents) {
+        return (double) cents / CENTS_PER_UNIT;
+    }
+
+    /**
+     * Parses a decimal amount such as {@code "1250.5"} without going through {@code double}.
+     *
+     * @throws NumberFormatException if the text is not a number or does not fit in cents
+     */
+    public static long parse(String text) {
+        try {
+            return new BigDecimal(text.trim()).movePointRight(2).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amount out of range: " + text);
+        }
+    }
+
+    /**
+     * Formats cents with two decimals, e.g. {@code -1234} as {@code "-12.34"}.
+     */
+    public static String format(long cents) {
+        long units = Math.abs(cents / CENTS_PER_UNIT);
+        long fraction = Math.abs(cents % CENTS_PER_UNIT);
+        return (cents < 0 ? "-" : "") + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+}
@@ -1,10 +1,24 @@
 package Group2BankSystem.model;
 
-import java.io.Serializable;
+import java.io.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
 public class Transaction implements Serializable {
+    private static final long serialVersionUID = 1612730382113078146L;
+
+    // Keeps the serialized form of earlier releases, which stored the amount as a double.
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("transactionId", String.class),
+            new ObjectStreamField("date", Date.class),
+            new ObjectStreamField("accountNumber", String.class),
+            new ObjectStreamField("type", String.class),
+            new ObjectStreamField("category", TransactionCategory.class),
+            new ObjectStreamField("amount", double.class),
+            new ObjectStreamField("description", String.class),
+            new ObjectStreamField("isReconciled", boolean.class)
+    };
+
     public enum TransactionCategory {
         DEPOSIT,
         WITHDRAWAL,
@@ -23,19 +37,19 @@ public class Transaction implements Serializable {
     private final String accountNumber;
     private final String type;
     private TransactionCategory category;
-    private double amount;
+    private long amountCents;
     private final String description;
     private boolean isReconciled;
-
+    private transient Transaction resolved;
 
     public Transaction(String transactionId, Date date, String accountNumber,
                        String type,
-                       double amount, String description) {
+                       long amountCents, String description) {
         this.transactionId = transactionId;
         this.date = date;
         this.accountNumber = accountNumber;
         this.type = type;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.description = description;
         this.isReconciled = false;
         determineCategory();
@@ -58,11 +72,12 @@ public class Transaction implements Serializable {
     public String getAccountNumber() { return accountNumber; }
     public String getType() { return type; }
     public TransactionCategory getCategory() { return category; }
-    public double getAmount() { return amount; }
+    public double getAmount() { return Money.toAmount(amountCents); }
+    public long getAmountCents() { return amountCents; }
     public String getDescription() { return description; }
     public boolean isReconciled() { return isReconciled; }
 
-    public void setAmount(double amount) { this.amount = amount; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
     public void setReconciled(boolean reconciled) { isReconciled = reconciled; }
 
     public String getFormattedDate() {
@@ -76,7 +91,7 @@ public class Transaction implements Serializable {
                 accountNumber,
                 type,
                 category.name(),
-                String.valueOf(amount),
+                Money.format(amountCents),
                 description,
                 String.valueOf(isReconciled)
         );
@@ -90,9 +105,41 @@ public class Transaction implements Serializable {
                 ", accountNumber='" + accountNumber + '\'' +
                 ", type='" + type + '\'' +
                 ", category=" + category +
-                ", amount=" + amount +
+                ", amount=" + Money.format(amountCents) +
                 ", description='" + description + '\'' +
                 ", isReconciled=" + isReconciled +
                 '}';
     }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("transactionId", transactionId);
+        fields.put("date", date);
+        fields.put("accountNumber", accountNumber);
+        fields.put("type", type);
+        fields.put("category", category);
+        fields.put("amount", getAmount());
+        fields.put("description", description);
+        fields.put("isReconciled", isReconciled);
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        try {
+            resolved = new Transaction((String) fields.get("transactionId", null),
+                    (Date) fields.get("date", null),
+                    (String) fields.get("accountNumber", null),
+                    (String) fields.get("type", null),
+                    Money.toCents(fields.get("amount", 0.0)),
+                    (String) fields.get("description", null));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+        resolved.setReconciled(fields.get("isReconciled", false));
+    }
+
+    private Object readResolve() {
+        return resolved;
+    }
 }
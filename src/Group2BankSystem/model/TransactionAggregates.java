@@ -0,0 +1,130 @@
+package Group2BankSystem.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Per-day running totals of transaction amounts and counts by type, category and account.
+ * <p>
+ * Buckets are updated as transactions are indexed or amended. A range summary merges the
+ * buckets of the whole days inside the range and only reads individual transactions for the
+ * partial days at either end.
+ * </p>
+ */
+final class TransactionAggregates {
+    enum Dimension {
+        TYPE(Transaction::getType),
+        CATEGORY(Transaction::getCategory),
+        ACCOUNT(Transaction::getAccountNumber);
+
+        private final Function<Transaction, Object> key;
+
+        Dimension(Function<Transaction, Object> key) {
+            this.key = key;
+        }
+    }
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private final ConcurrentSkipListMap<Long, Day> days = new ConcurrentSkipListMap<>();
+
+    void add(Transaction transaction) {
+        record(transaction, transaction.getAmountCents(), 1);
+    }
+
+    /**
+     * Moves the totals of an already counted transaction by {@code deltaCents}.
+     */
+    void adjust(Transaction transaction, long deltaCents) {
+        record(transaction, deltaCents, 0);
+    }
+
+    void clear() {
+        days.clear();
+    }
+
+    /**
+     * Sums transactions dated between {@code start} and {@code end} inclusive, grouped by
+     * {@code dimension}. {@code rows} returns the transactions between two epoch-millis bounds,
+     * inclusive, and is only asked for partial days.
+     */
+    @SuppressWarnings("unchecked")
+    <K> Map<K, TransactionSummary> summarize(Dimension dimension, Date start, Date end,
+                                             BiFunction<Long, Long, Collection<Transaction>> rows) {
+        Map<Object, long[]> totals = new HashMap<>();
+        if (!days.isEmpty() && !start.after(end)) {
+            long firstDay = days.firstKey();
+            long lastDay = days.lastKey();
+            long from = Math.max(start.getTime(), startOfDay(firstDay));
+            long to = Math.min(end.getTime(), startOfDay(lastDay + 1) - 1);
+            long firstFullDay = from == startOfDay(dayOf(from)) ? dayOf(from) : dayOf(from) + 1;
+            long lastFullDay = to == startOfDay(dayOf(to) + 1) - 1 ? dayOf(to) : dayOf(to) - 1;
+
+            if (firstFullDay > lastFullDay) {
+                addRows(totals, dimension, rows.apply(from, to));
+            } else {
+                addRows(totals, dimension, rows.apply(from, startOfDay(firstFullDay) - 1));
+                for (Day day : days.subMap(firstFullDay, true, lastFullDay, true).values()) {
+                    day.totals.get(dimension).forEach((key, bucket) -> {
+                        long[] sum = totals.computeIfAbsent(key, k -> new long[2]);
+                        sum[0] += bucket.cents.sum();
+                        sum[1] += bucket.count.sum();
+                    });
+                }
+                addRows(totals, dimension, rows.apply(startOfDay(lastFullDay + 1), to));
+            }
+        }
+
+        Map<K, TransactionSummary> summary = new HashMap<>();
+        totals.forEach((key, sum) -> {
+            if (sum[1] > 0) summary.put((K) key, new TransactionSummary(sum[0], sum[1]));
+        });
+        return summary;
+    }
+
+    private void record(Transaction transaction, long cents, int count) {
+        Day day = days.computeIfAbsent(dayOf(transaction.getDate().getTime()), d -> new Day());
+        for (Dimension dimension : Dimension.values()) {
+            Totals bucket = day.totals.get(dimension).computeIfAbsent(dimension.key.apply(transaction), k -> new Totals());
+            bucket.cents.add(cents);
+            bucket.count.add(count);
+        }
+    }
+
+    private static void addRows(Map<Object, long[]> totals, Dimension dimension, Collection<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            long[] sum = totals.computeIfAbsent(dimension.key.apply(transaction), k -> new long[2]);
+            sum[0] += transaction.getAmountCents();
+            sum[1]++;
+        }
+    }
+
+    static long dayOf(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(ZONE).toLocalDate().toEpochDay();
+    }
+
+    static long startOfDay(long epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static final class Day {
+        final Map<Dimension, Map<Object, Totals>> totals = new EnumMap<>(Dimension.class);
+
+        Day() {
+            for (Dimension dimension : Dimension.values()) {
+                totals.put(dimension, new ConcurrentHashMap<>());
+            }
+        }
+    }
+
+    private static final class Totals {
+        final LongAdder cents = new LongAdder();
+        final LongAdder count = new LongAdder();
+    }
+}
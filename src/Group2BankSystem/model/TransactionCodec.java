@@ -0,0 +1,103 @@
+package Group2BankSystem.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Fixed-layout binary form of a {@link Transaction}.
+ * <p>
+ * Every record starts with its format version, followed by the transaction id as two longs,
+ * epoch-millis date, length-prefixed UTF-8 account number, type and category bytes, amount in
+ * cents, a reconciled flag and a length-prefixed UTF-8 description. Types that are not one of
+ * the standard category names are written as a length-prefixed string after the type byte.
+ * Version 1 records, which stored the account number as a long, are still read.
+ * </p>
+ */
+final class TransactionCodec {
+    static final byte FORMAT_VERSION = 2;
+    private static final byte NUMERIC_ACCOUNT_VERSION = 1;
+
+    private static final byte CUSTOM_TYPE = -1;
+    private static final int FIXED_SIZE = 1 + 8 + 8 + 8 + 2 + 1 + 1 + 8 + 1 + 2;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final Transaction.TransactionCategory[] CATEGORIES = Transaction.TransactionCategory.values();
+
+    private TransactionCodec() {
+    }
+
+    static int encodedSize(Transaction transaction) {
+        int size = FIXED_SIZE + utf8(transaction.getAccountNumber()).length + utf8(transaction.getDescription()).length;
+        if (typeCode(transaction) == CUSTOM_TYPE) {
+            size += 2 + utf8(transaction.getType()).length;
+        }
+        return size;
+    }
+
+    static void encode(Transaction transaction, ByteBuffer buffer) {
+        UUID id = UUID.fromString(transaction.getTransactionId());
+        byte typeCode = typeCode(transaction);
+
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+        buffer.putLong(transaction.getDate().getTime());
+        putString(buffer, transaction.getAccountNumber());
+        buffer.put(typeCode);
+        buffer.put((byte) transaction.getCategory().ordinal());
+        buffer.putLong(transaction.getAmountCents());
+        buffer.put((byte) (transaction.isReconciled() ? 1 : 0));
+        if (typeCode == CUSTOM_TYPE) {
+            putString(buffer, transaction.getType());
+        }
+        putString(buffer, transaction.getDescription());
+    }
+
+    static Transaction decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION && version != NUMERIC_ACCOUNT_VERSION) {
+            throw new IllegalArgumentException("Unsupported transaction record version: " + version);
+        }
+        UUID id = new UUID(buffer.getLong(), buffer.getLong());
+        long epochMillis = buffer.getLong();
+        String accountNumber = version == NUMERIC_ACCOUNT_VERSION ? String.valueOf(buffer.getLong()) : getString(buffer);
+        byte typeCode = buffer.get();
+        buffer.get(); // category is derived from the type again by Transaction
+        long amountCents = buffer.getLong();
+        boolean reconciled = buffer.get() != 0;
+        String type = typeCode == CUSTOM_TYPE ? getString(buffer) : CATEGORIES[typeCode].name();
+        String description = getString(buffer);
+
+        Transaction transaction = new Transaction(id.toString(), new Date(epochMillis),
+                accountNumber, type, amountCents, description);
+        transaction.setReconciled(reconciled);
+        return transaction;
+    }
+
+    private static byte typeCode(Transaction transaction) {
+        Transaction.TransactionCategory category = transaction.getCategory();
+        return category.name().equals(transaction.getType()) ? (byte) category.ordinal() : CUSTOM_TYPE;
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        byte[] bytes = utf8(value);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Transaction text exceeds " + MAX_STRING_BYTES + " bytes");
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,269 @@
+package Group2BankSystem.model;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only transaction log made of memory-mapped {@link TransactionSegment} files.
+ * <p>
+ * Appends are group-committed by a single writer thread: each batch is copied into the
+ * active segment and forced to disk once. When a segment fills up a new one is created,
+ * named after the sequence number of its first record.
+ * </p>
+ */
+class TransactionJournal {
+    private static final int LEGACY_MAGIC = 0x42545831; // "BTX1"
+    private static final short JAVA_SERIALIZATION_MAGIC = (short) 0xACED;
+    private static final int MIN_SEGMENT_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final File legacyFile;
+    private final int segmentSize;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final BlockingQueue<PendingAppend> pending = new LinkedBlockingQueue<>();
+
+    private TransactionSegment active;
+
+    TransactionJournal(String directoryName, String legacyFileName, int segmentSize,
+                       int maxBatchSize, long maxWaitMicros) {
+        this.directory = Path.of(directoryName);
+        this.legacyFile = new File(legacyFileName);
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, segmentSize);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxWaitNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxWaitMicros));
+
+        Thread writer = new Thread(this::writeLoop, "transaction-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a transaction for the next group commit. The returned future completes
+     * once the batch containing it has been forced to disk.
+     */
+    CompletableFuture<Void> append(Transaction transaction) {
+        return append(List.of(transaction));
+    }
+
+    /**
+     * Queues several transactions that must be written together. They are written as a single
+     * frame in one segment, so after a crash either all of them are read back or none are, and
+     * none of them is written if any fails to encode.
+     */
+    CompletableFuture<Void> append(List<Transaction> transactions) {
+        PendingAppend append = new PendingAppend(transactions);
+        pending.add(append);
+        return append.durable;
+    }
+
+    /**
+     * Streams every record in log order, decoding directly from the mapped segments.
+     */
+    synchronized void replay(Consumer<Transaction> consumer) throws IOException {
+        List<Path> segments = listSegments();
+        if (segments.isEmpty()) {
+            if (legacyFile.length() == 0) {
+                throw new FileNotFoundException(directory.toString());
+            }
+            importLegacyFile(consumer);
+            return;
+        }
+
+        Path last = segments.get(segments.size() - 1);
+        for (Path path : segments) {
+            if (active != null && path.equals(active.getPath())) {
+                active.scan(consumer);
+            } else if (active == null && path.equals(last)) {
+                active = TransactionSegment.open(path, true);
+                active.scan(consumer);
+                active.discardTornTail();
+            } else {
+                TransactionSegment.open(path, false).scan(consumer);
+            }
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingAppend> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            try {
+                batch.add(pending.take());
+                long deadline = System.nanoTime() + maxWaitNanos;
+                while (batch.size() < maxBatchSize) {
+                    if (pending.drainTo(batch, maxBatchSize - batch.size()) > 0) continue;
+                    PendingAppend next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private synchronized void commit(List<PendingAppend> batch) {
+        List<PendingAppend> written = new ArrayList<>(batch.size());
+        try {
+            for (PendingAppend append : batch) {
+                ByteBuffer frame;
+                try {
+                    frame = encode(append.transactions);
+                } catch (RuntimeException e) {
+                    append.durable.completeExceptionally(e);
+                    continue;
+                }
+                write(frame, append.transactions.size());
+                written.add(append);
+            }
+            if (active != null) {
+                active.force();
+            }
+            written.forEach(append -> append.durable.complete(null));
+        } catch (IOException | RuntimeException e) {
+            batch.forEach(append -> append.durable.completeExceptionally(e));
+        }
+    }
+
+    private static ByteBuffer encode(List<Transaction> transactions) {
+        int size = 0;
+        for (Transaction transaction : transactions) {
+            size += TransactionCodec.encodedSize(transaction);
+        }
+        ByteBuffer frame = ByteBuffer.allocate(size);
+        for (Transaction transaction : transactions) {
+            TransactionCodec.encode(transaction, frame);
+        }
+        return frame.flip();
+    }
+
+    private void write(ByteBuffer frame, int records) throws IOException {
+        if (active == null) {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments();
+            if (segments.isEmpty()) {
+                active = TransactionSegment.create(directory, 0, segmentSize);
+            } else {
+                active = TransactionSegment.open(segments.get(segments.size() - 1), true);
+                active.scan(t -> { });
+                active.discardTornTail();
+            }
+        }
+        if (!active.append(frame, records)) {
+            active.force();
+            active = TransactionSegment.create(directory, active.getNextSequence(), segmentSize);
+            if (!active.append(frame, records)) {
+                throw new IllegalArgumentException("Transaction record larger than a journal segment");
+            }
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(TransactionSegment.SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Copies a transactions file written by earlier releases, either a Java-serialized list or
+     * a single-file binary journal, into segments. The original is kept as a backup.
+     */
+    private void importLegacyFile(Consumer<Transaction> consumer) throws IOException {
+        Consumer<Transaction> importer = transaction -> {
+            try {
+                write(encode(List.of(transaction)), 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            consumer.accept(transaction);
+        };
+
+        try {
+            if (isJavaSerialized()) {
+                readJavaSerialized(importer);
+            } else {
+                readBinaryJournal(importer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (active != null) {
+            active.force();
+        }
+        Files.move(legacyFile.toPath(), legacyFile.toPath().resolveSibling(legacyFile.getName() + ".bak"),
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private boolean isJavaSerialized() throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(legacyFile))) {
+            return in.readShort() == JAVA_SERIALIZATION_MAGIC;
+        }
+    }
+
+    private void readJavaSerialized(Consumer<Transaction> consumer) throws IOException {
+        try (ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(new FileInputStream(legacyFile)))) {
+            while (true) {
+                Object record;
+                try {
+                    record = ois.readObject();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (record instanceof Transaction transaction) {
+                    consumer.accept(transaction);
+                } else if (record instanceof List<?> snapshot) {
+                    snapshot.forEach(t -> consumer.accept((Transaction) t));
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            throw new InvalidClassException(e.getMessage());
+        }
+    }
+
+    private void readBinaryJournal(Consumer<Transaction> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(legacyFile)))) {
+            if (in.readInt() != LEGACY_MAGIC) {
+                throw new StreamCorruptedException("Not a transaction journal: " + legacyFile);
+            }
+            while (true) {
+                byte[] record;
+                try {
+                    record = new byte[in.readInt()];
+                    in.readFully(record);
+                } catch (EOFException | NegativeArraySizeException e) {
+                    return;
+                }
+                consumer.accept(TransactionCodec.decode(ByteBuffer.wrap(record)));
+            }
+        }
+    }
+
+    private static class PendingAppend {
+        final List<Transaction> transactions;
+        final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+        PendingAppend(List<Transaction> transactions) {
+            this.transactions = transactions;
+        }
+    }
+}
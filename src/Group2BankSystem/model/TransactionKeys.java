@@ -0,0 +1,18 @@
+package Group2BankSystem.model;
+
+/**
+ * The results of one run of a query, kept as index keys in result order. Two longs per row
+ * are all it holds; rows are read back a range at a time with
+ * {@link TransactionManager#getTransactions(TransactionKeys, int, int)}.
+ */
+public final class TransactionKeys {
+    final long[] epochMillis;
+    final long[] sequences;
+
+    TransactionKeys(long[] epochMillis, long[] sequences) {
+        this.epochMillis = epochMillis;
+        this.sequences = sequences;
+    }
+
+    public int size() { return epochMillis.length; }
+}
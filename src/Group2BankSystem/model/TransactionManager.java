@@ -2,94 +2,733 @@ package Group2BankSystem.model;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class TransactionManager {
     private static final String TRANSACTIONS_FILE = "transactions.dat";
-    private static final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
-    private static final Map<String, List<Transaction>> accountTransactions = new ConcurrentHashMap<>();
+    private static final String TRANSACTIONS_DIRECTORY = "transactions";
+    private static final int JOURNAL_SEGMENT_BYTES = Integer.getInteger("bank.journal.segmentBytes", 64 << 20);
+    private static final int JOURNAL_MAX_BATCH_SIZE = Integer.getInteger("bank.journal.maxBatchSize", 256);
+    private static final long JOURNAL_MAX_WAIT_MICROS = Long.getLong("bank.journal.maxWaitMicros", 200L);
+    private static final Map<String, TimeKey> keysById = new ConcurrentHashMap<>();
+    private static final ConcurrentSkipListMap<TimeKey, Transaction> byTime = new ConcurrentSkipListMap<>();
+    private static final ConcurrentSkipListMap<AmountKey, Transaction> byAmount = new ConcurrentSkipListMap<>();
+    private static final AtomicLong indexSequence = new AtomicLong();
+    private static final TransactionSearchIndex searchIndex = new TransactionSearchIndex();
+    private static final TransactionAggregates aggregates = new TransactionAggregates();
+    private static final BalanceCheckpoints checkpoints = new BalanceCheckpoints();
+    private static final Map<String, ConcurrentSkipListMap<TimeKey, Transaction>> accountTransactions =
+            new ConcurrentHashMap<>();
+    private static final ThreadLocal<List<Transaction>> captured = new ThreadLocal<>();
+    private static final TransactionJournal journal =
+            new TransactionJournal(TRANSACTIONS_DIRECTORY, TRANSACTIONS_FILE, JOURNAL_SEGMENT_BYTES,
+                    JOURNAL_MAX_BATCH_SIZE, JOURNAL_MAX_WAIT_MICROS);
 
     static {
-        loadTransactions();
+        // Class initialization is the one time no other thread can reach the indexes, so this
+        // replay takes no stripe locks. A thread that holds a stripe, such as a transfer, and
+        // then first touches this class waits for initialization to finish; a replay waiting
+        // for that stripe in turn would never finish.
+        loadTransactions(TransactionManager::index);
     }
 
-    public static synchronized void addTransaction(String accountNumber, String type,
-                                                   double amount, String description) {
-        Transaction transaction = new Transaction(UUID.randomUUID().toString(), new Date(), accountNumber, type, amount, description);
+    public static void addTransaction(String accountNumber, String type,
+                                      long amountCents, String description) {
+        CompletableFuture<Void> durable;
+        synchronized (AccountLocks.lockFor(accountNumber)) {
+            durable = recordTransaction(accountNumber, type, amountCents, description);
+        }
+        awaitDurable(durable);
+    }
+
+    /**
+     * Indexes a new transaction and starts journaling it, or adds it to the capture sink. The
+     * caller holds the account's stripe lock, applies the balance change the transaction
+     * records under the same lock, and waits on the returned future after releasing it.
+     */
+    static CompletableFuture<Void> recordTransaction(String accountNumber, String type,
+                                                     long amountCents, String description) {
+        Transaction transaction = newTransaction(accountNumber, type, amountCents, description);
+        index(transaction);
+        BankEvents.publish(BankEvent.of(BankEvent.Type.TRANSACTION_APPENDED, transaction));
+        List<Transaction> sink = captured.get();
+        if (sink != null) {
+            sink.add(transaction);
+            return CompletableFuture.completedFuture(null);
+        }
+        return journal.append(transaction);
+    }
 
-        transactions.put(transaction.getTransactionId(), transaction);
-        accountTransactions.computeIfAbsent(accountNumber, k -> new ArrayList<>()).add(transaction);
-        saveTransactions();
+    /**
+     * Makes {@link #addTransaction} on the current thread index transactions and collect them
+     * into {@code sink} instead of journaling each one. The caller journals them later with
+     * {@link #journalTransactions(List)}.
+     */
+    static void beginCapture(List<Transaction> sink) {
+        captured.set(sink);
+    }
+
+    static void endCapture() {
+        captured.remove();
+    }
+
+    /**
+     * Journals groups of transactions that are already indexed. The groups are queued together
+     * so they share a group commit; each group is written atomically.
+     */
+    static CompletableFuture<Void> journalTransactions(List<List<Transaction>> groups) {
+        CompletableFuture<?>[] durable = new CompletableFuture<?>[groups.size()];
+        for (int i = 0; i < durable.length; i++) {
+            durable[i] = journal.append(new ArrayList<>(groups.get(i)));
+        }
+        return CompletableFuture.allOf(durable);
+    }
+
+    static Transaction newTransaction(String accountNumber, String type, long amountCents, String description) {
+        return new Transaction(UUID.randomUUID().toString(), new Date(), accountNumber, type, amountCents, description);
+    }
+
+    /**
+     * Indexes transactions and journals them together in one group commit. Callers hold the
+     * stripe locks of every account involved and wait on the returned future after releasing them.
+     */
+    static CompletableFuture<Void> appendTransactions(List<Transaction> batch) {
+        for (Transaction transaction : batch) {
+            index(transaction);
+            BankEvents.publish(BankEvent.of(BankEvent.Type.TRANSACTION_APPENDED, transaction));
+        }
+        return journal.append(batch);
     }
 
     public static List<Transaction> getTransactionsByAccount(String accountNumber) {
-        return accountTransactions.getOrDefault(accountNumber, Collections.emptyList());
+        ConcurrentSkipListMap<TimeKey, Transaction> history = accountTransactions.get(accountNumber);
+        return history == null ? Collections.emptyList() : new ArrayList<>(history.values());
+    }
+
+    /**
+     * Returns one account's transactions dated between {@code start} and {@code end} inclusive,
+     * oldest first.
+     */
+    public static List<Transaction> getTransactionsByAccount(String accountNumber, Date start, Date end) {
+        return new ArrayList<>(rangeOf(accountTransactions.get(accountNumber), start, end).values());
+    }
+
+    /**
+     * Returns the account's balance in cents after every transaction dated at or before
+     * {@code at}. The answer starts from the nearest day-close checkpoint and replays only the
+     * transactions after it.
+     */
+    public static long getBalanceCentsAt(BankAccount account, Date at) {
+        synchronized (AccountLocks.lockFor(account.getAccountNumber())) {
+            return checkpoints.balanceAt(account, at, accountTransactions.get(account.getAccountNumber()));
+        }
     }
 
     public static List<Transaction> getTransactionsByDateRange(Date start, Date end) {
-        return transactions.values().stream()
-                .filter(t -> !t.getDate().before(start) && !t.getDate().after(end))
-                .sorted(Comparator.comparing(Transaction::getDate))
-                .collect(Collectors.toList());
+        return new ArrayList<>(rangeOf(byTime, start, end).values());
+    }
+
+    /**
+     * Returns up to {@code pageSize} transactions dated between {@code start} and {@code end}
+     * inclusive, oldest first, resuming after {@code resumeToken} when it is not null.
+     */
+    public static TransactionPage getTransactionPage(Date start, Date end, int pageSize, String resumeToken) {
+        return page(rangeOf(byTime, start, end), pageSize, resumeToken);
+    }
+
+    public static TransactionPage getTransactionPage(String accountNumber, Date start, Date end,
+                                                     int pageSize, String resumeToken) {
+        return page(rangeOf(accountTransactions.get(accountNumber), start, end), pageSize, resumeToken);
+    }
+
+    /**
+     * Streams transactions dated between {@code start} and {@code end} inclusive, oldest first,
+     * reading the index lazily instead of copying the range.
+     */
+    public static Stream<Transaction> streamTransactionsByDateRange(Date start, Date end) {
+        return rangeOf(byTime, start, end).values().stream();
+    }
+
+    public static Stream<Transaction> streamTransactionsByAccount(String accountNumber, Date start, Date end) {
+        return rangeOf(accountTransactions.get(accountNumber), start, end).values().stream();
+    }
+
+    public static List<Transaction> query(TransactionQuery query) {
+        try (Stream<Transaction> results = stream(query)) {
+            return results.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Returns the {@code k} largest credits, optionally limited to one account and a date range.
+     * Any of {@code accountNumber}, {@code start} and {@code end} may be null.
+     */
+    public static List<Transaction> getLargestCredits(int k, String accountNumber, Date start, Date end) {
+        return query(TransactionQuery.builder().account(accountNumber).between(start, end)
+                .amountBetween(1L, null).sort(TransactionQuery.Sort.AMOUNT_DESCENDING).limit(k).build());
+    }
+
+    /**
+     * Returns the {@code k} largest debits, most negative first, optionally limited to one
+     * account and a date range.
+     */
+    public static List<Transaction> getLargestDebits(int k, String accountNumber, Date start, Date end) {
+        return query(TransactionQuery.builder().account(accountNumber).between(start, end)
+                .amountBetween(null, -1L).sort(TransactionQuery.Sort.AMOUNT_ASCENDING).limit(k).build());
+    }
+
+    /**
+     * Runs a query lazily. Candidates come from whichever index has the fewest entries for the
+     * query: the account's transactions, the search postings of the text, the amount range or
+     * the date range. The other criteria are applied while reading them. Results already in the
+     * requested order are not sorted, and limited queries in another order keep only the best
+     * {@code limit} rows in a heap.
+     */
+    public static Stream<Transaction> stream(TransactionQuery query) {
+        return stream(query, planOf(query), null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns whether {@code query} reads its results in the order of an index, so any page can
+     * be read with a seek. Other orders sort the candidates again for every page; callers
+     * paging deeply through them should sort once with {@link #sortKeys(TransactionQuery)}.
+     */
+    public static boolean isIndexOrdered(TransactionQuery query) {
+        return readsInOrder(query, planOf(query));
+    }
+
+    /**
+     * Runs {@code query} once and keeps only the index keys of its results, in query order.
+     * The sort needs the matching transactions while it runs; afterwards the keys take two
+     * longs per row and any range of rows is read back with
+     * {@link #getTransactions(TransactionKeys, int, int)}.
+     */
+    public static TransactionKeys sortKeys(TransactionQuery query) {
+        List<Transaction> sorted;
+        try (Stream<Transaction> results = stream(query)) {
+            sorted = results.collect(Collectors.toList());
+        }
+        long[] epochMillis = new long[sorted.size()];
+        long[] sequences = new long[sorted.size()];
+        int rows = 0;
+        for (Transaction transaction : sorted) {
+            TimeKey key = keysById.get(transaction.getTransactionId());
+            if (key == null) continue;
+            epochMillis[rows] = key.epochMillis;
+            sequences[rows] = key.sequence;
+            rows++;
+        }
+        return new TransactionKeys(Arrays.copyOf(epochMillis, rows), Arrays.copyOf(sequences, rows));
+    }
+
+    /**
+     * Returns up to {@code count} transactions starting at row {@code from} of {@code keys}.
+     * Transactions removed since the keys were taken, by a reload, are left out.
+     */
+    public static List<Transaction> getTransactions(TransactionKeys keys, int from, int count) {
+        int to = Math.min(keys.size(), from + count);
+        List<Transaction> transactions = new ArrayList<>(Math.max(0, to - from));
+        for (int row = from; row < to; row++) {
+            Transaction transaction = byTime.get(new TimeKey(keys.epochMillis[row], keys.sequences[row]));
+            if (transaction != null) {
+                transactions.add(transaction);
+            }
+        }
+        return transactions;
+    }
+
+    /**
+     * Returns up to {@code pageSize} results of {@code query}, resuming after
+     * {@code resumeToken} when it is not null. Results read in index order resume with a seek
+     * into the index; other orders are sorted again and skip the earlier pages.
+     */
+    public static TransactionPage getTransactionPage(TransactionQuery query, int pageSize, String resumeToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        long rowsBefore = resumeToken == null ? 0 : rowsBefore(resumeToken);
+        Plan plan = resumeToken == null ? planOf(query) : planOf(resumeToken);
+        List<Transaction> transactions;
+        try (Stream<Transaction> results = stream(query, plan, resumeToken, pageSize + 1)) {
+            transactions = results.limit(pageSize + 1L).collect(Collectors.toList());
+        }
+        if (transactions.size() <= pageSize) {
+            return new TransactionPage(transactions, null);
+        }
+        transactions.remove(pageSize);
+        return new TransactionPage(transactions,
+                resumeTokenAfter(query, plan, transactions.get(pageSize - 1), rowsBefore + pageSize));
+    }
+
+    /**
+     * Returns the resume token that starts each page of {@code query}, in one pass over the
+     * results. The first element is null, and the list has one element per page.
+     */
+    public static List<String> getPageTokens(TransactionQuery query, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        List<String> tokens = new ArrayList<>();
+        tokens.add(null);
+        long rows = 0;
+        Transaction boundary = null;
+        Plan plan = planOf(query);
+        try (Stream<Transaction> results = stream(query, plan, null, Integer.MAX_VALUE)) {
+            for (Iterator<Transaction> it = results.iterator(); it.hasNext(); ) {
+                Transaction transaction = it.next();
+                if (boundary != null) {
+                    tokens.add(resumeTokenAfter(query, plan, boundary, rows));
+                    boundary = null;
+                }
+                if (++rows % pageSize == 0) {
+                    boundary = transaction;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private enum Plan { ACCOUNT, TEXT, AMOUNT, TIME }
+
+    /**
+     * Picks the index with the fewest candidates for {@code query}. The text estimate comes from
+     * posting list sizes; the other indexes are counted, stopping at the best count so far, so
+     * planning never reads more entries than the chosen plan will. Without any narrowing
+     * criterion, amount sorts read the amount index and everything else the time index.
+     */
+    private static Plan planOf(TransactionQuery query) {
+        Plan best = isAmountSort(query) ? Plan.AMOUNT : Plan.TIME;
+        long fewest = Long.MAX_VALUE;
+        if (query.text != null) {
+            fewest = searchIndex.estimate(query.text);
+            best = Plan.TEXT;
+        }
+        if (query.accountNumber != null) {
+            long count = countUpTo(rangeOf(accountTransactions.get(query.accountNumber),
+                    query.startOrEarliest(), query.endOrLatest()), fewest);
+            if (count < fewest) {
+                fewest = count;
+                best = Plan.ACCOUNT;
+            }
+        }
+        if (query.minCents != null || query.maxCents != null) {
+            long count = countUpTo(amountRangeOf(query), fewest);
+            if (count < fewest) {
+                fewest = count;
+                best = Plan.AMOUNT;
+            }
+        }
+        if (query.start != null || query.end != null) {
+            long count = countUpTo(rangeOf(byTime, query.startOrEarliest(), query.endOrLatest()), fewest);
+            if (count < fewest) {
+                best = Plan.TIME;
+            }
+        }
+        return best;
+    }
+
+    private static long countUpTo(Map<?, ?> range, long cap) {
+        long count = 0;
+        for (Iterator<?> it = range.keySet().iterator(); count < cap && it.hasNext(); it.next()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static NavigableMap<AmountKey, Transaction> amountRangeOf(TransactionQuery query) {
+        return byAmount.subMap(
+                AmountKey.first(query.minCents != null ? query.minCents : Long.MIN_VALUE), true,
+                AmountKey.last(query.maxCents != null ? query.maxCents : Long.MAX_VALUE), true);
+    }
+
+    private static boolean isAmountSort(TransactionQuery query) {
+        return query.sort == TransactionQuery.Sort.AMOUNT_ASCENDING || query.sort == TransactionQuery.Sort.AMOUNT_DESCENDING;
+    }
+
+    /**
+     * Tells whether the plan's index already returns rows in the requested order.
+     */
+    private static boolean readsInOrder(TransactionQuery query, Plan plan) {
+        if (plan == Plan.AMOUNT) return isAmountSort(query);
+        return query.sort == TransactionQuery.Sort.DATE_ASCENDING || query.sort == TransactionQuery.Sort.DATE_DESCENDING;
+    }
+
+    /**
+     * Resume tokens are {@code rows@plan@key}: the number of rows already returned, the plan
+     * the first page used, so later pages read the same index however the data has changed
+     * since, and for results read in index order the index key of the last row.
+     */
+    private static String resumeTokenAfter(TransactionQuery query, Plan plan, Transaction last, long rows) {
+        if (!readsInOrder(query, plan)) {
+            return rows + "@" + plan + "@";
+        }
+        TimeKey key = keysById.get(last.getTransactionId());
+        return rows + "@" + plan + "@" + (plan == Plan.AMOUNT ? new AmountKey(last.getAmountCents(), key).toToken() : key.toToken());
+    }
+
+    private static Plan planOf(String resumeToken) {
+        String[] parts = resumeToken.split("@", 3);
+        try {
+            return Plan.valueOf(parts[1]);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid resume token: " + resumeToken);
+        }
+    }
+
+    private static long rowsBefore(String resumeToken) {
+        int separator = resumeToken.indexOf('@');
+        try {
+            return Long.parseLong(resumeToken.substring(0, separator));
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid resume token: " + resumeToken);
+        }
     }
 
+    /**
+     * Runs {@code query} with {@code plan}, continuing after {@code resumeToken}. {@code window}
+     * is how many rows the caller will read, which bounds the heap of limited or resumed sorts.
+     */
+    private static Stream<Transaction> stream(TransactionQuery query, Plan plan, String resumeToken, int window) {
+        boolean ordered = readsInOrder(query, plan);
+        boolean descending = query.sort == TransactionQuery.Sort.DATE_DESCENDING;
+        long skip = resumeToken == null ? 0 : rowsBefore(resumeToken);
+        String after = resumeToken == null || !ordered ? null : resumeToken.split("@", 3)[2];
+        long limit = Math.max(0, query.limit - skip);
+
+        Stream<Transaction> candidates;
+        switch (plan) {
+            case ACCOUNT -> {
+                NavigableMap<TimeKey, Transaction> range = rangeOf(accountTransactions.get(query.accountNumber),
+                        query.startOrEarliest(), query.endOrLatest());
+                candidates = resume(range, after == null ? null : TimeKey.fromToken(after), descending).values().stream();
+            }
+            case TEXT -> {
+                List<TimeKey> keys = searchIndex.search(query.text, byTime::get);
+                if (after != null) {
+                    int position = Collections.binarySearch(keys, TimeKey.fromToken(after));
+                    int insertion = position >= 0 ? position : -position - 1;
+                    keys = descending ? keys.subList(0, insertion) : keys.subList(position >= 0 ? insertion + 1 : insertion, keys.size());
+                }
+                if (descending) {
+                    keys = new ArrayList<>(keys);
+                    Collections.reverse(keys);
+                }
+                candidates = keys.stream().map(byTime::get).filter(Objects::nonNull);
+            }
+            case AMOUNT -> {
+                NavigableMap<AmountKey, Transaction> range = amountRangeOf(query);
+                boolean amountDescending = query.sort == TransactionQuery.Sort.AMOUNT_DESCENDING;
+                candidates = resume(range, after == null ? null : AmountKey.fromToken(after), amountDescending)
+                        .values().stream();
+            }
+            default -> {
+                NavigableMap<TimeKey, Transaction> range = rangeOf(byTime, query.startOrEarliest(), query.endOrLatest());
+                candidates = resume(range, after == null ? null : TimeKey.fromToken(after), descending).values().stream();
+            }
+        }
+
+        candidates = candidates.filter(query::matchesFields);
+        if (query.text != null && plan != Plan.TEXT) {
+            candidates = candidates.filter(TransactionSearchIndex.matcher(query.text));
+        }
+        if (ordered) {
+            return query.limit == Integer.MAX_VALUE ? candidates : candidates.limit(limit);
+        }
+        if (query.limit == Integer.MAX_VALUE && window == Integer.MAX_VALUE) {
+            return candidates.sorted(query.comparator()).skip(skip);
+        }
+        int best = (int) Math.min(query.limit, Math.min(Integer.MAX_VALUE, skip + window));
+        return topK(candidates, query.comparator(), best).stream().skip(skip);
+    }
+
+    private static <K> NavigableMap<K, Transaction> resume(NavigableMap<K, Transaction> range, K after,
+                                                         boolean descending) {
+        if (after != null) {
+            range = descending ? range.headMap(after, false) : range.tailMap(after, false);
+        }
+        return descending ? range.descendingMap() : range;
+    }
+
+    /**
+     * Selects the first {@code k} rows in {@code order} with a bounded heap instead of sorting
+     * everything: O(n log k) time and O(k) memory.
+     */
+    private static List<Transaction> topK(Stream<Transaction> candidates, Comparator<Transaction> order, int k) {
+        PriorityQueue<Transaction> heap = new PriorityQueue<>(Math.min(k, 1024) + 1, order.reversed());
+        candidates.forEach(transaction -> {
+            if (heap.size() < k) {
+                heap.add(transaction);
+            } else if (order.compare(transaction, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(transaction);
+            }
+        });
+        List<Transaction> best = new ArrayList<>(heap);
+        best.sort(order);
+        return best;
+    }
+
+    /**
+     * Finds transactions whose description, type, category, account number or id contain every
+     * word of {@code query}, each matched as a word prefix. Results are oldest first.
+     */
     public static List<Transaction> searchTransactions(String query) {
-        String lowerQuery = query.toLowerCase();
-        return transactions.values().stream()
-                .filter(t -> t.toString().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
+        List<Transaction> results = new ArrayList<>();
+        for (TimeKey key : searchIndex.search(query, byTime::get)) {
+            Transaction transaction = byTime.get(key);
+            if (transaction != null) {
+                results.add(transaction);
+            }
+        }
+        return results;
     }
 
-    public static synchronized boolean updateTransaction(String transactionId, double newAmount) {
-        Transaction transaction = transactions.get(transactionId);
-        if (transaction != null) {
-            double oldAmount = transaction.getAmount();
-            transaction.setAmount(newAmount);
+    private static NavigableMap<TimeKey, Transaction> rangeOf(ConcurrentSkipListMap<TimeKey, Transaction> index,
+                                                              Date start, Date end) {
+        if (index == null || start.after(end)) {
+            return Collections.emptyNavigableMap();
+        }
+        return index.subMap(TimeKey.first(start.getTime()), true, TimeKey.last(end.getTime()), true);
+    }
+
+    private static TransactionPage page(NavigableMap<TimeKey, Transaction> range, int pageSize, String resumeToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (resumeToken != null) {
+            range = range.tailMap(TimeKey.fromToken(resumeToken), false);
+        }
+        List<Transaction> transactions = new ArrayList<>(Math.min(pageSize, 1024));
+        TimeKey last = null;
+        for (Map.Entry<TimeKey, Transaction> entry : range.entrySet()) {
+            if (transactions.size() == pageSize) {
+                return new TransactionPage(transactions, last.toToken());
+            }
+            transactions.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new TransactionPage(transactions, null);
+    }
+
+    public static boolean updateTransaction(String transactionId, double newAmount) {
+        TimeKey key = keysById.get(transactionId);
+        Transaction transaction = key == null ? null : byTime.get(key);
+        if (transaction == null) {
+            return false;
+        }
+        CompletableFuture<Void> durable;
+        synchronized (AccountLocks.lockFor(transaction.getAccountNumber())) {
+            long oldCents = transaction.getAmountCents();
+            long newCents = Money.toCents(newAmount);
+            byAmount.remove(new AmountKey(oldCents, key));
+            transaction.setAmountCents(newCents);
+            byAmount.put(new AmountKey(newCents, key), transaction);
+            aggregates.adjust(transaction, newCents - oldCents);
+            checkpoints.record(key, transaction, newCents - oldCents, false,
+                    accountTransactions.get(transaction.getAccountNumber()));
             AccountManager.getAccountByNumber(transaction.getAccountNumber()).ifPresent(account -> {
-                account.setBalance(account.getBalance() - oldAmount + newAmount);
+                account.addToBalance(newCents - oldCents);
+                account.updateLastModifiedDate();
+                AccountManager.updateAccount(account);
             });
-            saveTransactions();
-            return true;
+            durable = journal.append(transaction);
+            BankEvents.publish(BankEvent.of(BankEvent.Type.TRANSACTION_CHANGED, transaction));
         }
-        return false;
+        awaitDurable(durable);
+        return true;
     }
 
     public static synchronized void reloadTransactions() {
-        loadTransactions();
+        loadTransactions(transaction -> {
+            synchronized (AccountLocks.lockFor(transaction.getAccountNumber())) {
+                index(transaction);
+            }
+        });
+        BankEvents.publish(BankEvent.of(BankEvent.Type.TRANSACTIONS_RELOADED));
     }
 
-    private static synchronized void saveTransactions() {
-        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(TRANSACTIONS_FILE))) {
-            oos.writeObject(new ArrayList<>(transactions.values()));
-        } catch (IOException e) {
-            System.err.println("Error saving transactions: " + e.getMessage());
+    static void awaitDurable(CompletableFuture<Void> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            System.err.println("Error saving transactions: " + e.getCause().getMessage());
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private static synchronized void loadTransactions() {
-        try (ObjectInputStream ois = new ObjectInputStream(new FileInputStream(TRANSACTIONS_FILE))) {
-            List<Transaction> loaded = (List<Transaction>) ois.readObject();
-            transactions.clear();
-            accountTransactions.clear();
-            loaded.forEach(t -> {
-                transactions.put(t.getTransactionId(), t);
-                accountTransactions.computeIfAbsent(t.getAccountNumber(),
-                        k -> new ArrayList<>()).add(t);
-            });
+    /**
+     * Adds or replaces a transaction in the in-memory indexes. Callers hold the stripe lock of
+     * the transaction's account.
+     */
+    private static void index(Transaction transaction) {
+        TimeKey key = keysById.get(transaction.getTransactionId());
+        if (key == null) {
+            key = new TimeKey(transaction.getDate().getTime(), indexSequence.incrementAndGet());
+            keysById.put(transaction.getTransactionId(), key);
+            searchIndex.add(key, transaction);
+        }
+        Transaction previous = byTime.put(key, transaction);
+        if (previous == null) {
+            aggregates.add(transaction);
+        } else {
+            byAmount.remove(new AmountKey(previous.getAmountCents(), key));
+            aggregates.adjust(transaction, transaction.getAmountCents() - previous.getAmountCents());
+        }
+        byAmount.put(new AmountKey(transaction.getAmountCents(), key), transaction);
+        ConcurrentSkipListMap<TimeKey, Transaction> history =
+                accountTransactions.computeIfAbsent(transaction.getAccountNumber(), k -> new ConcurrentSkipListMap<>());
+        history.put(key, transaction);
+        long delta = transaction.getAmountCents() - (previous == null ? 0 : previous.getAmountCents());
+        checkpoints.record(key, transaction, delta, previous == null, history);
+    }
+
+    /**
+     * Clears the indexes and replays the journal through {@code indexer}.
+     */
+    private static synchronized void loadTransactions(Consumer<Transaction> indexer) {
+        keysById.clear();
+        byTime.clear();
+        byAmount.clear();
+        searchIndex.clear();
+        aggregates.clear();
+        checkpoints.clear();
+        accountTransactions.clear();
+        try {
+            journal.replay(indexer);
         } catch (FileNotFoundException e) {
             System.out.println("No existing transactions file. Starting fresh.");
-        } catch (IOException | ClassNotFoundException e) {
+        } catch (IOException | RuntimeException e) {
             System.err.println("Error loading transactions: " + e.getMessage());
         }
     }
 
-    public static Map<Object, Object> getSummaryByType(Date start, Date end) {
-        return null;
+    public static Map<String, TransactionSummary> getSummaryByType(Date start, Date end) {
+        return aggregates.summarize(TransactionAggregates.Dimension.TYPE, start, end, TransactionManager::rowsBetween);
     }
 
-    public static Map<Object, Object> getSummaryByCategory(Date start, Date end) {
-        return null;
+    public static Map<Transaction.TransactionCategory, TransactionSummary> getSummaryByCategory(Date start, Date end) {
+        return aggregates.summarize(TransactionAggregates.Dimension.CATEGORY, start, end, TransactionManager::rowsBetween);
+    }
+
+    public static Map<String, TransactionSummary> getSummaryByAccount(Date start, Date end) {
+        return aggregates.summarize(TransactionAggregates.Dimension.ACCOUNT, start, end, TransactionManager::rowsBetween);
+    }
+
+    private static Collection<Transaction> rowsBetween(long fromMillis, long toMillis) {
+        if (fromMillis > toMillis) {
+            return Collections.emptyList();
+        }
+        return byTime.subMap(TimeKey.first(fromMillis), true, TimeKey.last(toMillis), true).values();
+    }
+
+    /**
+     * Orders transactions by date, then by the order in which they were indexed.
+     */
+    static final class TimeKey implements Comparable<TimeKey> {
+        final long epochMillis;
+        final long sequence;
+
+        TimeKey(long epochMillis, long sequence) {
+            this.epochMillis = epochMillis;
+            this.sequence = sequence;
+        }
+
+        static TimeKey first(long epochMillis) {
+            return new TimeKey(epochMillis, Long.MIN_VALUE);
+        }
+
+        static TimeKey last(long epochMillis) {
+            return new TimeKey(epochMillis, Long.MAX_VALUE);
+        }
+
+        String toToken() {
+            return epochMillis + ":" + sequence;
+        }
+
+        static TimeKey fromToken(String token) {
+            int separator = token.indexOf(':');
+            try {
+                return new TimeKey(Long.parseLong(token.substring(0, separator)),
+                        Long.parseLong(token.substring(separator + 1)));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid resume token: " + token);
+            }
+        }
+
+        @Override
+        public int compareTo(TimeKey other) {
+            int byTime = Long.compare(epochMillis, other.epochMillis);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof TimeKey other && epochMillis == other.epochMillis && sequence == other.sequence;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(epochMillis) * 31 + Long.hashCode(sequence);
+        }
+    }
+
+    /**
+     * Orders transactions by amount, then by time key.
+     */
+    static final class AmountKey implements Comparable<AmountKey> {
+        private static final TimeKey LOWEST = new TimeKey(Long.MIN_VALUE, Long.MIN_VALUE);
+        private static final TimeKey HIGHEST = new TimeKey(Long.MAX_VALUE, Long.MAX_VALUE);
+
+        final long amountCents;
+        final TimeKey timeKey;
+
+        AmountKey(long amountCents, TimeKey timeKey) {
+            this.amountCents = amountCents;
+            this.timeKey = timeKey;
+        }
+
+        static AmountKey first(long amountCents) {
+            return new AmountKey(amountCents, LOWEST);
+        }
+
+        static AmountKey last(long amountCents) {
+            return new AmountKey(amountCents, HIGHEST);
+        }
+
+        String toToken() {
+            return amountCents + "/" + timeKey.toToken();
+        }
+
+        static AmountKey fromToken(String token) {
+            int separator = token.indexOf('/');
+            try {
+                return new AmountKey(Long.parseLong(token.substring(0, separator)),
+                        TimeKey.fromToken(token.substring(separator + 1)));
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Invalid resume token: " + token);
+            }
+        }
+
+        @Override
+        public int compareTo(AmountKey other) {
+            int byAmount = Long.compare(amountCents, other.amountCents);
+            return byAmount != 0 ? byAmount : timeKey.compareTo(other.timeKey);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof AmountKey other && amountCents == other.amountCents && timeKey.equals(other.timeKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(amountCents) * 31 + timeKey.hashCode();
+        }
     }
 }
@@ -0,0 +1,26 @@
+package Group2BankSystem.model;
+
+import java.util.List;
+
+/**
+ * One page of a transaction query. Pass {@link #getNextToken()} back to the same query to
+ * continue after the last transaction of this page.
+ */
+public final class TransactionPage {
+    private final List<Transaction> transactions;
+    private final String nextToken;
+
+    TransactionPage(List<Transaction> transactions, String nextToken) {
+        this.transactions = transactions;
+        this.nextToken = nextToken;
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+
+    /**
+     * Returns the resume token for the following page, or null when this is the last page.
+     */
+    public String getNextToken() { return nextToken; }
+
+    public boolean hasMore() { return nextToken != null; }
+}
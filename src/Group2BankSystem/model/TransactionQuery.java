@@ -0,0 +1,178 @@
+package Group2BankSystem.model;
+
+import java.util.*;
+
+/**
+ * Immutable description of a transaction lookup, run with {@link TransactionManager#query}.
+ * <p>
+ * Every criterion is optional. {@link TransactionManager} reads candidates from the index of
+ * the account, text, amount range or date range that has the fewest entries for the query, and
+ * applies the remaining criteria while reading from it.
+ * </p>
+ */
+public final class TransactionQuery {
+    /**
+     * Result orders. {@code MONTH} and {@code DAY_OF_MONTH} order by the calendar month or day
+     * of the transaction date in the default time zone, ignoring the year.
+     */
+    public enum Sort {
+        DATE_ASCENDING, DATE_DESCENDING, AMOUNT_ASCENDING, AMOUNT_DESCENDING, ACCOUNT_ASCENDING, ACCOUNT_DESCENDING,
+        MONTH, DAY_OF_MONTH
+    }
+
+    final String accountNumber;
+    final Date start;
+    final Date end;
+    final Set<String> types;
+    final Set<Transaction.TransactionCategory> categories;
+    final Long minCents;
+    final Long maxCents;
+    final Boolean reconciled;
+    final String text;
+    final Sort sort;
+    final int limit;
+
+    private TransactionQuery(Builder builder) {
+        this.accountNumber = builder.accountNumber;
+        this.start = builder.start;
+        this.end = builder.end;
+        this.types = builder.types.isEmpty() ? null : Set.copyOf(builder.types);
+        this.categories = builder.categories.isEmpty() ? null : EnumSet.copyOf(builder.categories);
+        this.minCents = builder.minCents;
+        this.maxCents = builder.maxCents;
+        this.reconciled = builder.reconciled;
+        this.text = builder.text;
+        this.sort = builder.sort;
+        this.limit = builder.limit;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    Date startOrEarliest() { return start != null ? start : new Date(Long.MIN_VALUE); }
+    Date endOrLatest() { return end != null ? end : new Date(Long.MAX_VALUE); }
+
+    /**
+     * Checks every criterion except the text, which the search index matches.
+     */
+    boolean matchesFields(Transaction transaction) {
+        long millis = transaction.getDate().getTime();
+        if (start != null && millis < start.getTime()) return false;
+        if (end != null && millis > end.getTime()) return false;
+        if (accountNumber != null && !accountNumber.equals(transaction.getAccountNumber())) return false;
+        if (types != null && !types.contains(transaction.getType().toUpperCase(Locale.ROOT))) return false;
+        if (categories != null && !categories.contains(transaction.getCategory())) return false;
+        long cents = transaction.getAmountCents();
+        if (minCents != null && cents < minCents) return false;
+        if (maxCents != null && cents > maxCents) return false;
+        return reconciled == null || reconciled == transaction.isReconciled();
+    }
+
+    /**
+     * Orders by the requested sort, then by date and id, so that ties come back in the same
+     * order on every run and pages do not overlap.
+     */
+    Comparator<Transaction> comparator() {
+        return primaryOrder().thenComparing(Transaction::getDate).thenComparing(Transaction::getTransactionId);
+    }
+
+    private Comparator<Transaction> primaryOrder() {
+        switch (sort) {
+            case DATE_DESCENDING: return Comparator.comparing(Transaction::getDate).reversed();
+            case AMOUNT_ASCENDING: return Comparator.comparingLong(Transaction::getAmountCents);
+            case AMOUNT_DESCENDING: return Comparator.comparingLong(Transaction::getAmountCents).reversed();
+            case ACCOUNT_ASCENDING: return Comparator.comparing(Transaction::getAccountNumber);
+            case ACCOUNT_DESCENDING: return Comparator.comparing(Transaction::getAccountNumber).reversed();
+            case MONTH: return Comparator.comparingInt(transaction -> calendarField(transaction, Calendar.MONTH));
+            case DAY_OF_MONTH: return Comparator.comparingInt(transaction -> calendarField(transaction, Calendar.DAY_OF_MONTH));
+            default: return Comparator.comparing(Transaction::getDate);
+        }
+    }
+
+    private static int calendarField(Transaction transaction, int field) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(transaction.getDate());
+        return calendar.get(field);
+    }
+
+    public static final class Builder {
+        private String accountNumber;
+        private Date start;
+        private Date end;
+        private final Set<String> types = new HashSet<>();
+        private final Set<Transaction.TransactionCategory> categories = new HashSet<>();
+        private Long minCents;
+        private Long maxCents;
+        private Boolean reconciled;
+        private String text;
+        private Sort sort = Sort.DATE_ASCENDING;
+        private int limit = Integer.MAX_VALUE;
+
+        private Builder() {
+        }
+
+        public Builder account(String accountNumber) {
+            this.accountNumber = accountNumber;
+            return this;
+        }
+
+        /**
+         * Restricts results to transactions dated from {@code start} to {@code end} inclusive.
+         * Either bound may be null to leave that side open.
+         */
+        public Builder between(Date start, Date end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        public Builder type(String type) {
+            types.add(type.toUpperCase(Locale.ROOT));
+            return this;
+        }
+
+        public Builder category(Transaction.TransactionCategory category) {
+            categories.add(category);
+            return this;
+        }
+
+        /**
+         * Restricts amounts to the inclusive range, in cents. Either bound may be null.
+         */
+        public Builder amountBetween(Long minCents, Long maxCents) {
+            this.minCents = minCents;
+            this.maxCents = maxCents;
+            return this;
+        }
+
+        public Builder reconciled(boolean reconciled) {
+            this.reconciled = reconciled;
+            return this;
+        }
+
+        /**
+         * Matches transactions containing every word of {@code text}, as in
+         * {@link TransactionManager#searchTransactions(String)}.
+         */
+        public Builder text(String text) {
+            this.text = text == null || text.isBlank() ? null : text;
+            return this;
+        }
+
+        public Builder sort(Sort sort) {
+            this.sort = sort;
+            return this;
+        }
+
+        public Builder limit(int limit) {
+            if (limit <= 0) throw new IllegalArgumentException("Limit must be positive");
+            this.limit = limit;
+            return this;
+        }
+
+        public TransactionQuery build() {
+            return new TransactionQuery(this);
+        }
+    }
+}
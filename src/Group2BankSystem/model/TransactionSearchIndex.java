@@ -0,0 +1,196 @@
+package Group2BankSystem.model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Inverted index from lower-cased words to the transactions that contain them.
+ * <p>
+ * Words come from the description, type, category, account number and transaction id, split on
+ * anything that is not a letter or digit. A query matches transactions that contain every query
+ * word as a prefix of one of their words. Posting lists are kept in time order, so results come
+ * back sorted the same way as date range queries.
+ * </p>
+ * <p>
+ * Each posting list keeps its size, so the candidates for a query word can be counted without
+ * reading them. A search reads only the query word with the fewest candidates, merging its
+ * posting lists lazily, and checks the other words against each candidate transaction.
+ * </p>
+ */
+final class TransactionSearchIndex {
+    private final ConcurrentSkipListMap<String, Posting> postings = new ConcurrentSkipListMap<>();
+
+    void add(TransactionManager.TimeKey key, Transaction transaction) {
+        for (String word : wordsOf(transaction)) {
+            Posting posting = postings.computeIfAbsent(word, w -> new Posting());
+            if (posting.keys.add(key)) {
+                posting.size.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns a test that applies the same matching rule as {@link #search(String)} to single
+     * transactions, for queries that read candidates from a different index.
+     */
+    static Predicate<Transaction> matcher(String query) {
+        Set<String> queryWords = new LinkedHashSet<>();
+        tokenize(query, queryWords);
+        return matcher(queryWords);
+    }
+
+    private static Predicate<Transaction> matcher(Set<String> queryWords) {
+        return transaction -> {
+            Set<String> words = wordsOf(transaction);
+            for (String queryWord : queryWords) {
+                if (words.stream().noneMatch(word -> word.startsWith(queryWord))) return false;
+            }
+            return !queryWords.isEmpty();
+        };
+    }
+
+    void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Returns how many postings the most selective word of {@code query} has, an upper bound on
+     * the number of matches. Counting reads only the posting list sizes.
+     */
+    long estimate(String query) {
+        Set<String> words = new LinkedHashSet<>();
+        tokenize(query, words);
+        long best = words.isEmpty() ? 0 : Long.MAX_VALUE;
+        for (String word : words) {
+            best = Math.min(best, postingsWithPrefix(word));
+        }
+        return best;
+    }
+
+    /**
+     * Returns the keys of transactions matching every word of {@code query}, oldest first.
+     * {@code lookup} resolves a key to its transaction so the remaining words can be checked.
+     */
+    List<TransactionManager.TimeKey> search(String query, Function<TransactionManager.TimeKey, Transaction> lookup) {
+        Set<String> words = new LinkedHashSet<>();
+        tokenize(query, words);
+        String driver = null;
+        long fewest = Long.MAX_VALUE;
+        for (String word : words) {
+            long count = postingsWithPrefix(word);
+            if (count == 0) {
+                return new ArrayList<>();
+            }
+            if (count < fewest) {
+                fewest = count;
+                driver = word;
+            }
+        }
+        if (driver == null) {
+            return new ArrayList<>();
+        }
+
+        Predicate<Transaction> matches = words.size() == 1 ? transaction -> true : matcher(words);
+        List<TransactionManager.TimeKey> result = new ArrayList<>();
+        Iterator<TransactionManager.TimeKey> keys = keysWithPrefix(driver);
+        while (keys.hasNext()) {
+            TransactionManager.TimeKey key = keys.next();
+            Transaction transaction = lookup.apply(key);
+            if (transaction != null && matches.test(transaction)) {
+                result.add(key);
+            }
+        }
+        return result;
+    }
+
+    private long postingsWithPrefix(String prefix) {
+        long count = 0;
+        for (Posting posting : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            count += posting.size.get();
+        }
+        return count;
+    }
+
+    /**
+     * Iterates the union of the posting lists under {@code prefix} in key order, merging them
+     * as it goes rather than collecting them first.
+     */
+    private Iterator<TransactionManager.TimeKey> keysWithPrefix(String prefix) {
+        Collection<Posting> lists = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (lists.size() == 1) {
+            return lists.iterator().next().keys.iterator();
+        }
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(Comparator.comparing((Cursor cursor) -> cursor.current));
+        for (Posting posting : lists) {
+            Cursor cursor = new Cursor(posting.keys.iterator());
+            if (cursor.advance()) cursors.add(cursor);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return !cursors.isEmpty();
+            }
+
+            @Override
+            public TransactionManager.TimeKey next() {
+                Cursor cursor = cursors.poll();
+                if (cursor == null) throw new NoSuchElementException();
+                TransactionManager.TimeKey key = cursor.current;
+                if (cursor.advance()) cursors.add(cursor);
+                while (!cursors.isEmpty() && cursors.peek().current.equals(key)) {
+                    Cursor duplicate = cursors.poll();
+                    if (duplicate.advance()) cursors.add(duplicate);
+                }
+                return key;
+            }
+        };
+    }
+
+    private static Set<String> wordsOf(Transaction transaction) {
+        Set<String> words = new HashSet<>();
+        tokenize(transaction.getDescription(), words);
+        tokenize(transaction.getType(), words);
+        tokenize(transaction.getCategory().name(), words);
+        tokenize(transaction.getAccountNumber(), words);
+        tokenize(transaction.getTransactionId(), words);
+        return words;
+    }
+
+    private static void tokenize(String text, Collection<String> words) {
+        if (text == null) return;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static final class Posting {
+        final ConcurrentSkipListSet<TransactionManager.TimeKey> keys = new ConcurrentSkipListSet<>();
+        final AtomicInteger size = new AtomicInteger();
+    }
+
+    private static final class Cursor {
+        final Iterator<TransactionManager.TimeKey> keys;
+        TransactionManager.TimeKey current;
+
+        Cursor(Iterator<TransactionManager.TimeKey> keys) {
+            this.keys = keys;
+        }
+
+        boolean advance() {
+            if (!keys.hasNext()) return false;
+            current = keys.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package Group2BankSystem.model;
+
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * One fixed-size, memory-mapped file of the transaction log.
+ * <p>
+ * The file starts with a magic number and the sequence of its first record, followed by
+ * frames of {@code [length][crc32][payload]}. A payload holds one or more encoded records that
+ * were appended together, so a group such as the two legs of a transfer is read back whole or
+ * not at all. The unused tail stays zero-filled, so a zero length marks the end of the written
+ * records.
+ * </p>
+ */
+class TransactionSegment {
+    static final String SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x42545332; // "BTS2"
+    private static final int HEADER_SIZE = 12;
+    private static final int FRAME_HEADER_SIZE = 8;
+
+    private final Path path;
+    private final long baseSequence;
+    private final MappedByteBuffer buffer;
+    private int writePosition = HEADER_SIZE;
+    private int dirtyFrom = HEADER_SIZE;
+    private long recordCount;
+
+    private TransactionSegment(Path path, long baseSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.buffer = buffer;
+    }
+
+    static TransactionSegment create(Path directory, long baseSequence, int size) throws IOException {
+        Path path = directory.resolve(fileName(baseSequence));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putLong(4, baseSequence);
+            buffer.force(0, HEADER_SIZE);
+            return new TransactionSegment(path, baseSequence, buffer);
+        }
+    }
+
+    static TransactionSegment open(Path path, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY,
+                    0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+                throw new StreamCorruptedException("Not a transaction segment: " + path);
+            }
+            return new TransactionSegment(path, buffer.getLong(4), buffer);
+        }
+    }
+
+    static String fileName(long baseSequence) {
+        return String.format("%020d", baseSequence) + SUFFIX;
+    }
+
+    /**
+     * Decodes every intact record straight from the mapped pages. Scanning stops at the first
+     * empty or damaged frame, which becomes the append position.
+     */
+    long scan(Consumer<Transaction> consumer) {
+        int position = HEADER_SIZE;
+        long count = 0;
+        while (position + FRAME_HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + FRAME_HEADER_SIZE + length > buffer.limit()) break;
+            if (buffer.getInt(position + 4) != checksum(position + FRAME_HEADER_SIZE, length)) break;
+            ByteBuffer payload = buffer.slice(position + FRAME_HEADER_SIZE, length);
+            while (payload.hasRemaining()) {
+                consumer.accept(TransactionCodec.decode(payload));
+                count++;
+            }
+            position += FRAME_HEADER_SIZE + length;
+        }
+        writePosition = position;
+        dirtyFrom = position;
+        recordCount = count;
+        return count;
+    }
+
+    /**
+     * Clears whatever a crash left after the last intact record so later appends cannot be
+     * mistaken for part of it.
+     */
+    void discardTornTail() {
+        if (!buffer.isReadOnly() && writePosition + 4 <= buffer.limit() && buffer.getInt(writePosition) != 0) {
+            for (int i = writePosition; i < buffer.limit(); i++) {
+                buffer.put(i, (byte) 0);
+            }
+            buffer.force(writePosition, buffer.limit() - writePosition);
+        }
+    }
+
+    /**
+     * Copies {@code records} encoded records, laid out back to back, into the mapped region as
+     * a single frame.
+     *
+     * @return false when the segment has no room left for the frame
+     */
+    boolean append(ByteBuffer frame, int records) {
+        int length = frame.remaining();
+        int payload = writePosition + FRAME_HEADER_SIZE;
+        if (payload + length + 4 > buffer.limit()) {
+            return false;
+        }
+        buffer.put(payload, frame, frame.position(), length);
+        buffer.putInt(writePosition + 4, checksum(payload, length));
+        buffer.putInt(writePosition, length);
+        writePosition = payload + length;
+        recordCount += records;
+        return true;
+    }
+
+    void force() {
+        if (writePosition > dirtyFrom) {
+            buffer.force(dirtyFrom, writePosition - dirtyFrom);
+            dirtyFrom = writePosition;
+        }
+    }
+
+    Path getPath() { return path; }
+    long getBaseSequence() { return baseSequence; }
+    long getNextSequence() { return baseSequence + recordCount; }
+
+    private int checksum(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
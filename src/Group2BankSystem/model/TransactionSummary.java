@@ -0,0 +1,23 @@
+package Group2BankSystem.model;
+
+/**
+ * Total amount and number of transactions for one row of a summary report.
+ */
+public final class TransactionSummary {
+    private final long totalCents;
+    private final long count;
+
+    public TransactionSummary(long totalCents, long count) {
+        this.totalCents = totalCents;
+        this.count = count;
+    }
+
+    public long getTotalCents() { return totalCents; }
+    public double getTotal() { return Money.toAmount(totalCents); }
+    public long getCount() { return count; }
+
+    @Override
+    public String toString() {
+        return Money.format(totalCents) + " (" + count + ")";
+    }
+}
@@ -0,0 +1,54 @@
+package Group2BankSystem.model;
+
+import Group2BankSystem.exceptions.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Moves money between two accounts as one unit.
+ * <p>
+ * Both accounts' stripe locks are taken in ascending stripe order, so two transfers in
+ * opposite directions cannot deadlock. The debit and credit are applied while both are held,
+ * and the paired TRANSFER transactions are journaled in a single batch.
+ * </p>
+ */
+public final class TransferEngine {
+    private TransferEngine() {
+    }
+
+    public static void transfer(BankAccount source, BankAccount target, double amount)
+            throws InvalidAccountException, InvalidAmountException, InsufficientFundsException, AccountClosedException {
+        long cents = Money.toCents(amount);
+        if (cents <= 0) throw new InvalidAmountException("Transfer amount must be positive");
+        if (source instanceof CreditCardAccount) throw new InvalidAccountException(source.getAccountNumber());
+        if (target instanceof CreditCardAccount || target.getAccountNumber().equals(source.getAccountNumber())) {
+            throw new InvalidAccountException(target.getAccountNumber());
+        }
+
+        int sourceStripe = AccountLocks.stripeOf(source.getAccountNumber());
+        int targetStripe = AccountLocks.stripeOf(target.getAccountNumber());
+        Object first = AccountLocks.lockFor(sourceStripe <= targetStripe ? source.getAccountNumber() : target.getAccountNumber());
+        Object second = AccountLocks.lockFor(sourceStripe <= targetStripe ? target.getAccountNumber() : source.getAccountNumber());
+
+        CompletableFuture<Void> durable;
+        synchronized (first) {
+            synchronized (second) {
+                if (!source.isActive()) throw new AccountClosedException(source.getAccountNumber());
+                if (!target.isActive()) throw new AccountClosedException(target.getAccountNumber());
+
+                source.debit(cents);
+                target.addToBalance(cents);
+                source.updateLastModifiedDate();
+                target.updateLastModifiedDate();
+
+                durable = TransactionManager.appendTransactions(List.of(
+                        TransactionManager.newTransaction(source.getAccountNumber(), "TRANSFER", -cents,
+                                "Transfer to " + target.getAccountNumber()),
+                        TransactionManager.newTransaction(target.getAccountNumber(), "TRANSFER", cents,
+                                "Transfer from " + source.getAccountNumber())));
+                AccountManager.updateAccounts(source, target);
+            }
+        }
+        TransactionManager.awaitDurable(durable);
+    }
+}
@@ -64,11 +64,11 @@ public class AccountStatementPanel extends JPanel {
 
         add(topPanel, BorderLayout.NORTH);
 
-        String[] columns = {"Date", "Type", "Amount", "Description"};
+        String[] columns = {"Date", "Type", "Amount", "Balance", "Description"};
         statementTableModel = new DefaultTableModel(columns, 0) {
             @Override public boolean isCellEditable(int row, int col) { return false; }
             @Override public Class<?> getColumnClass(int col) {
-                if (col == 2) return Double.class;
+                if (col == 2 || col == 3) return Double.class;
                 return String.class;
             }
         };
@@ -111,20 +111,23 @@ public class AccountStatementPanel extends JPanel {
         Date startDate = getStartDate(timeFrame);
         Date endDate = new Date();
 
-        List<Transaction> transactions = TransactionManager.getTransactionsByDateRange(startDate, endDate);
-
-        transactions.removeIf(t -> !t.getAccountNumber().equals(accountNumber));
+        List<Transaction> transactions = TransactionManager.getTransactionsByAccount(accountNumber, startDate, endDate);
+        long openingCents = TransactionManager.getBalanceCentsAt(account, new Date(startDate.getTime() - 1));
 
         statementTableModel.setRowCount(0);
+        long runningCents = openingCents;
         for (Transaction t : transactions) {
+            runningCents += t.getAmountCents();
             statementTableModel.addRow(new Object[]{
                     DATETIME_FORMAT.format(t.getDate()),
                     t.getType(),
                     t.getAmount(),
+                    Money.toAmount(runningCents),
                     t.getDescription()
             });
         }
-        balanceLabel.setText(String.format("Current Balance: ₱%.2f", account.getBalance()));
+        balanceLabel.setText("Opening Balance: ₱" + Money.format(openingCents)
+                + "    Closing Balance: ₱" + Money.format(runningCents));
     }
 
     private Date getStartDate(String timeFrame) {
@@ -0,0 +1,127 @@
+package Group2BankSystem.ui;
+
+import Group2BankSystem.model.*;
+import javax.swing.table.*;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Base for the per-type account tables. Rows follow account and transaction events: changed
+ * accounts repaint their own row, new accounts are appended, and accounts converted to another
+ * type are removed. Only a reload rebuilds the whole list. Owners call {@link #dispose()} when
+ * the table is no longer shown, since the subscription otherwise keeps the model reachable.
+ */
+abstract class AccountTableModel<T extends BankAccount> extends AbstractTableModel {
+    private final String[] columns;
+    private List<T> accounts = new ArrayList<>();
+    private final Map<String, Integer> rows = new HashMap<>();
+    private final Consumer<List<BankEvent>> listener = this::apply;
+    private boolean subscribed;
+
+    AccountTableModel(String[] columns) {
+        this.columns = columns;
+        UiEvents.subscribe(listener);
+        subscribed = true;
+    }
+
+    abstract List<T> loadAccounts();
+
+    /**
+     * Returns {@code account} as this table's row type, or null when it belongs elsewhere.
+     */
+    abstract T accept(BankAccount account);
+
+    @Override
+    public int getRowCount() {
+        return accounts.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    public T getAccountAt(int row) {
+        return accounts.get(row);
+    }
+
+    /**
+     * Stops following events. Call on the event dispatch thread.
+     */
+    public void dispose() {
+        if (!subscribed) return;
+        UiEvents.unsubscribe(listener);
+        subscribed = false;
+    }
+
+    /**
+     * Follows events again after {@link #dispose()}, reloading the rows changed in between.
+     */
+    public void reconnect() {
+        if (subscribed) return;
+        UiEvents.subscribe(listener);
+        subscribed = true;
+        refresh();
+    }
+
+    public void refresh() {
+        accounts = loadAccounts();
+        reindex();
+        fireTableDataChanged();
+    }
+
+    private void apply(List<BankEvent> events) {
+        Map<String, BankAccount> changed = new LinkedHashMap<>();
+        for (BankEvent event : events) {
+            switch (event.getType()) {
+                case ACCOUNTS_RELOADED, TRANSACTIONS_RELOADED -> {
+                    refresh();
+                    return;
+                }
+                case ACCOUNT_ADDED, ACCOUNT_CHANGED -> changed.put(event.getAccountNumber(), event.getAccount());
+                default -> changed.putIfAbsent(event.getAccountNumber(), null);
+            }
+        }
+
+        int firstInserted = accounts.size();
+        List<Integer> removed = new ArrayList<>();
+        for (Map.Entry<String, BankAccount> entry : changed.entrySet()) {
+            BankAccount account = entry.getValue() != null
+                    ? entry.getValue() : AccountManager.getAccountByNumber(entry.getKey()).orElse(null);
+            T row = account == null ? null : accept(account);
+            Integer index = rows.get(entry.getKey());
+            if (row != null && index != null) {
+                accounts.set(index, row);
+                fireTableRowsUpdated(index, index);
+            } else if (row != null) {
+                rows.put(entry.getKey(), accounts.size());
+                accounts.add(row);
+            } else if (index != null) {
+                removed.add(index);
+            }
+        }
+        if (accounts.size() > firstInserted) {
+            fireTableRowsInserted(firstInserted, accounts.size() - 1);
+        }
+        if (!removed.isEmpty()) {
+            removed.sort(Comparator.reverseOrder());
+            for (int index : removed) {
+                accounts.remove(index);
+                fireTableRowsDeleted(index, index);
+            }
+            reindex();
+        }
+    }
+
+    private void reindex() {
+        rows.clear();
+        for (int i = 0; i < accounts.size(); i++) {
+            rows.put(accounts.get(i).getAccountNumber(), i);
+        }
+    }
+}
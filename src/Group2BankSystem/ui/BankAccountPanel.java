@@ -2,7 +2,6 @@ package Group2BankSystem.ui;
 
 import java.util.Optional;
 import Group2BankSystem.model.*;
-import Group2BankSystem.exceptions.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -38,6 +37,18 @@ public class BankAccountPanel extends JPanel implements ManageAccountPanel.Refre
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        tableModel.reconnect();
+    }
+
+    @Override
+    public void removeNotify() {
+        tableModel.dispose();
+        super.removeNotify();
+    }
+
     private JButton createOperationButton(String text, ActionListener action) {
         JButton button = new JButton(text);
         button.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -58,7 +69,6 @@ public class BankAccountPanel extends JPanel implements ManageAccountPanel.Refre
         BankAccount account = getSelectedAccount();
         if (account != null) {
             new EditAccountDialog(parent.getMainFrame(), account).setVisible(true);
-            refresh();
         }
     }
 
@@ -69,14 +79,10 @@ public class BankAccountPanel extends JPanel implements ManageAccountPanel.Refre
         String amountStr = JOptionPane.showInputDialog(this, "Enter deposit amount:");
         try {
             double amount = Double.parseDouble(amountStr);
-            if (account.deposit(amount)) {
-                JOptionPane.showMessageDialog(this, "Deposit successful");
-                refresh();
-            }
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.deposit(account, amount),
+                    balance -> JOptionPane.showMessageDialog(this, "Deposit successful"));
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number");
-        } catch (InvalidAmountException | AccountClosedException ex) {
-            showError(ex.getMessage());
         }
     }
 
@@ -87,14 +93,10 @@ public class BankAccountPanel extends JPanel implements ManageAccountPanel.Refre
         String amountStr = JOptionPane.showInputDialog(this, "Enter withdrawal amount:");
         try {
             double amount = Double.parseDouble(amountStr);
-            if (account.withdraw(amount)) {
-                JOptionPane.showMessageDialog(this, "Withdrawal successful");
-                refresh();
-            }
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.withdraw(account, amount),
+                    balance -> JOptionPane.showMessageDialog(this, "Withdrawal successful"));
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number");
-        } catch (InvalidAmountException | InsufficientFundsException | AccountClosedException ex) {
-            showError(ex.getMessage());
         }
     }
 
@@ -113,10 +115,8 @@ public class BankAccountPanel extends JPanel implements ManageAccountPanel.Refre
         String amountStr = JOptionPane.showInputDialog(this, "Enter transfer amount:");
         try {
             double amount = Double.parseDouble(amountStr);
-            if (fromAccount.transfer(toAccount.get(), amount)) {
-                JOptionPane.showMessageDialog(this, "Transfer successful");
-                refresh();
-            }
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.transfer(fromAccount, toAccount.get(), amount),
+                    balance -> JOptionPane.showMessageDialog(this, "Transfer successful"));
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number");
         }
@@ -140,9 +140,8 @@ public class BankAccountPanel extends JPanel implements ManageAccountPanel.Refre
                 "Confirm Close", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            account.closeAccount();
-            JOptionPane.showMessageDialog(this, "Account closed successfully");
-            refresh();
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.closeAccount(account),
+                    balance -> JOptionPane.showMessageDialog(this, "Account closed successfully"));
         }
     }
 
@@ -3,51 +3,33 @@ package Group2BankSystem.ui;
 import Group2BankSystem.model.*;
 import javax.swing.table.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
-public class BankAccountTableModel extends AbstractTableModel {
-    private final String[] columns = {"Account Number", "Account Holder", "Balance", "Status"};
-    private List<BankAccount> accounts;
+public class BankAccountTableModel extends AccountTableModel<BankAccount> {
 
     public BankAccountTableModel() {
+        super(new String[]{"Account Number", "Account Holder", "Balance", "Status"});
         refresh();
     }
 
-    @Override
-    public int getRowCount() {
-        return accounts.size();
-    }
-
-    @Override
-    public int getColumnCount() {
-        return columns.length;
-    }
-
-    @Override
-    public String getColumnName(int column) {
-        return columns[column];
-    }
-
     @Override
     public Object getValueAt(int row, int column) {
-        BankAccount account = accounts.get(row);
+        BankAccount account = getAccountAt(row);
         return switch (column) {
             case 0 -> account.getAccountNumber();
             case 1 -> account.getAccountHolderName();
-            case 2 -> String.format("%.2f", account.getBalance());
+            case 2 -> Money.format(account.getBalanceCents());
             case 3 -> account.isActive() ? "Active" : "Closed";
             default -> null;
         };
     }
 
-    public BankAccount getAccountAt(int row) {
-        return accounts.get(row);
+    @Override
+    List<BankAccount> loadAccounts() {
+        return AccountManager.getAccountsOfType("Bank Account");
     }
 
-    public void refresh() {
-        accounts = AccountManager.getAccounts().stream()
-                .filter(acc -> acc.getClass() == BankAccount.class)
-                .collect(Collectors.toList());
-        fireTableDataChanged();
+    @Override
+    BankAccount accept(BankAccount account) {
+        return "Bank Account".equals(account.getAccountType()) ? account : null;
     }
 }
\ No newline at end of file
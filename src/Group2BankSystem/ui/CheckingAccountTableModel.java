@@ -3,53 +3,34 @@ package Group2BankSystem.ui;
 import Group2BankSystem.model.*;
 import javax.swing.table.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
-public class CheckingAccountTableModel extends AbstractTableModel {
-    private final String[] columns = {"Account Number", "Account Holder", "Balance", "Overdraft Limit", "Status"};
-    private List<CheckingAccount> accounts;
+public class CheckingAccountTableModel extends AccountTableModel<CheckingAccount> {
 
     public CheckingAccountTableModel() {
+        super(new String[]{"Account Number", "Account Holder", "Balance", "Overdraft Limit", "Status"});
         refresh();
     }
 
-    @Override
-    public int getRowCount() {
-        return accounts.size();
-    }
-
-    @Override
-    public int getColumnCount() {
-        return columns.length;
-    }
-
-    @Override
-    public String getColumnName(int column) {
-        return columns[column];
-    }
-
     @Override
     public Object getValueAt(int row, int column) {
-        CheckingAccount account = accounts.get(row);
+        CheckingAccount account = getAccountAt(row);
         return switch (column) {
             case 0 -> account.getAccountNumber();
             case 1 -> account.getAccountHolderName();
-            case 2 -> String.format("%.2f", account.getBalance());
+            case 2 -> Money.format(account.getBalanceCents());
             case 3 -> String.format("%.2f", account.getOverdraftLimit());
             case 4 -> account.isActive() ? "Active" : "Closed";
             default -> null;
         };
     }
 
-    public CheckingAccount getAccountAt(int row) {
-        return accounts.get(row);
+    @Override
+    List<CheckingAccount> loadAccounts() {
+        return AccountManager.getAccounts(CheckingAccount.class);
     }
 
-    public void refresh() {
-        accounts = AccountManager.getAccounts().stream()
-                .filter(acc -> acc instanceof CheckingAccount)
-                .map(acc -> (CheckingAccount) acc)
-                .collect(Collectors.toList());
-        fireTableDataChanged();
+    @Override
+    CheckingAccount accept(BankAccount account) {
+        return account instanceof CheckingAccount typed ? typed : null;
     }
 }
\ No newline at end of file
@@ -308,12 +308,12 @@ public class CreateAccountPanel extends JPanel {
             double amount = validateAmount();
 
             BankAccount account = AccountFactory.createAccount(name, amount, selectedAccountType);
-            AccountManager.addAccount(account);
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.addAccount(account), balance -> {
+                showSuccessMessage(account);
 
-            showSuccessMessage(account);
-
-            cardLayout.show(cards, "SUCCESS");
-            currentCard = "SUCCESS";
+                cardLayout.show(cards, "SUCCESS");
+                currentCard = "SUCCESS";
+            });
 
         } catch (InvalidAmountException | IllegalArgumentException ex) {
             showError(ex.getMessage());
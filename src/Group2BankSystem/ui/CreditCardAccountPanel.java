@@ -34,6 +34,18 @@ public class CreditCardAccountPanel extends JPanel implements ManageAccountPanel
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        tableModel.reconnect();
+    }
+
+    @Override
+    public void removeNotify() {
+        tableModel.dispose();
+        super.removeNotify();
+    }
+
     private JButton createOperationButton(String text, ActionListener action) {
         JButton button = new JButton(text);
         button.addActionListener(action);
@@ -53,7 +65,6 @@ public class CreditCardAccountPanel extends JPanel implements ManageAccountPanel
         CreditCardAccount account = getSelectedAccount();
         if (account != null) {
             new EditAccountDialog(parent.getMainFrame(), account).setVisible(true);
-            refresh();
         }
     }
 
@@ -64,10 +75,8 @@ public class CreditCardAccountPanel extends JPanel implements ManageAccountPanel
         String amountStr = JOptionPane.showInputDialog(this, "Enter charge amount:");
         try {
             double amount = Double.parseDouble(amountStr);
-            if (account.chargeToCard(amount)) {
-                JOptionPane.showMessageDialog(this, "Charge successful");
-                refresh();
-            }
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.charge(account, amount),
+                    balance -> JOptionPane.showMessageDialog(this, "Charge successful"));
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number");
         }
@@ -80,10 +89,8 @@ public class CreditCardAccountPanel extends JPanel implements ManageAccountPanel
         String amountStr = JOptionPane.showInputDialog(this, "Enter payment amount:");
         try {
             double amount = Double.parseDouble(amountStr);
-            if (account.payCard(amount)) {
-                JOptionPane.showMessageDialog(this, "Payment successful");
-                refresh();
-            }
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.makePayment(account, amount),
+                    balance -> JOptionPane.showMessageDialog(this, "Payment successful"));
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number");
         }
@@ -119,9 +126,8 @@ public class CreditCardAccountPanel extends JPanel implements ManageAccountPanel
                 "Confirm Close", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            account.closeAccount();
-            JOptionPane.showMessageDialog(this, "Account closed successfully");
-            refresh();
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.closeAccount(account),
+                    balance -> JOptionPane.showMessageDialog(this, "Account closed successfully"));
         }
     }
 
@@ -1,7 +1,6 @@
 package Group2BankSystem.ui;
 
 import Group2BankSystem.model.*;
-import Group2BankSystem.exceptions.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -48,20 +47,20 @@ public class EditAccountDialog extends JDialog {
         JButton cancelBtn = new JButton("Cancel");
 
         saveBtn.addActionListener(e -> {
+            double balance;
             try {
-                updateAccount(
-                        nameField.getText(),
-                        Double.parseDouble(balanceField.getText()),
-                        (String) typeCombo.getSelectedItem()
-                );
-                dispose();
+                balance = Double.parseDouble(balanceField.getText());
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this,
                         "Invalid balance format", "Error", JOptionPane.ERROR_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this,
-                        ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
             }
+            UiCommands.run(this, saveBtn, AccountCommands.editAccount(account, nameField.getText(), balance,
+                    (String) typeCombo.getSelectedItem()), edited -> {
+                account = edited;
+                updated = true;
+                dispose();
+            });
         });
 
         cancelBtn.addActionListener(e -> dispose());
@@ -70,39 +69,6 @@ public class EditAccountDialog extends JDialog {
         add(cancelBtn);
     }
 
-    private void updateAccount(String newName, double newBalance, String newType)
-            throws InvalidAmountException {
-        if (!account.getAccountType().equals(newType)) {
-            try {
-                account = AccountFactory.convertAccount(account, newType);
-            } catch (AccountFactory.AccountConversionException e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        account.setAccountHolderName(newName);
-
-        double difference = newBalance - account.getBalance();
-        if (difference > 0) {
-            try {
-                account.deposit(difference);
-            } catch (AccountClosedException e) {
-                throw new RuntimeException(e);
-            }
-        } else if (difference < 0) {
-            try {
-                account.withdraw(-difference);
-            } catch (InsufficientFundsException e) {
-                throw new RuntimeException(e);
-            } catch (AccountClosedException e) {
-                throw new RuntimeException(e);
-            }
-        }
-
-        AccountManager.updateAccount(account);
-        updated = true;
-    }
-
     public boolean isUpdated() {
         return updated;
     }
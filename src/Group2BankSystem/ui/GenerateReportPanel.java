@@ -1,10 +1,12 @@
 package Group2BankSystem.ui;
 
+import Group2BankSystem.model.AccountCommands;
 import Group2BankSystem.model.Transaction;
 import Group2BankSystem.model.TransactionManager;
+import Group2BankSystem.model.TransactionQuery;
+import Group2BankSystem.model.TransactionSummary;
 
 import javax.swing.*;
-import javax.swing.event.TableModelEvent;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
@@ -15,7 +17,7 @@ import java.util.List;
 public class GenerateReportPanel extends JPanel {
     private final JTabbedPane tabbedPane;
 
-    private final DefaultTableModel dailyTableModel;
+    private final TransactionTableModel dailyTableModel;
     private final JTable dailyTable;
     private final JButton dailyLoadBtn;
     private final JButton dailyEditBtn;
@@ -33,6 +35,10 @@ public class GenerateReportPanel extends JPanel {
     private final JTextField onDemandSearchField;
     private final JButton onDemandSearchBtn;
 
+    private List<TransactionSummary> summaryTotals = List.of();
+    private List<TransactionSummary> perAccountTotals = List.of();
+    private List<Transaction> onDemandResults = List.of();
+
     private static final SimpleDateFormat DATE_TIME_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm");
     private String currentTransactionType = "All";
 
@@ -59,19 +65,14 @@ public class GenerateReportPanel extends JPanel {
         dailyEditBtn.addActionListener(e -> editTransaction());
 
         String[] dailyCols = {"Date", "Type", "Account Number", "Amount", "Description"};
-        dailyTableModel = new DefaultTableModel(dailyCols, 0) {
+        dailyTableModel = new TransactionTableModel(dailyCols, GenerateReportPanel::toRow) {
             public boolean isCellEditable(int row, int col) { return col == 3; }
             public Class<?> getColumnClass(int col) { return col == 3 ? Double.class : String.class; }
+            public void setValueAt(Object value, int row, int col) { updateTransactionAmount(row, (Double) value); }
         };
         dailyTable = new JTable(dailyTableModel);
         customizeTable(dailyTable);
 
-        dailyTableModel.addTableModelListener(e -> {
-            if (e.getType() == TableModelEvent.UPDATE && e.getColumn() == 3) {
-                updateTransactionAmount(e.getFirstRow());
-            }
-        });
-
         dailyTable.getTableHeader().addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
                 int col = dailyTable.columnAtPoint(e.getPoint());
@@ -108,13 +109,8 @@ public class GenerateReportPanel extends JPanel {
         };
         summaryTable = new JTable(summaryTableModel);
         customizeTable(summaryTable);
-
-        summaryTable.getTableHeader().addMouseListener(new MouseAdapter() {
-            public void mouseClicked(MouseEvent e) {
-                int col = summaryTable.columnAtPoint(e.getPoint());
-                if (col == 1) sortSummaryByAmount();
-            }
-        });
+        summaryTable.setRowSorter(new KeyedRowSorter<>(summaryTableModel)
+                .sortLong(1, row -> summaryTotals.get(row).getTotalCents()));
 
         JScrollPane summaryScroll = new JScrollPane(summaryTable);
         summaryScroll.setBorder(BorderFactory.createLineBorder(new Color(12, 46, 97), 2));
@@ -139,14 +135,9 @@ public class GenerateReportPanel extends JPanel {
         };
         perAccountTable = new JTable(perAccountTableModel);
         customizeTable(perAccountTable);
-
-        perAccountTable.getTableHeader().addMouseListener(new MouseAdapter() {
-            public void mouseClicked(MouseEvent e) {
-                int col = perAccountTable.columnAtPoint(e.getPoint());
-                if (col == 0) sortPerAccountByAccountNumber();
-                else if (col == 1) sortPerAccountByAmount();
-            }
-        });
+        perAccountTable.setRowSorter(new KeyedRowSorter<>(perAccountTableModel)
+                .sortText(0, row -> (String) perAccountTableModel.getValueAt(row, 0))
+                .sortLong(1, row -> perAccountTotals.get(row).getTotalCents()));
 
         JScrollPane perAccountScroll = new JScrollPane(perAccountTable);
         perAccountScroll.setBorder(BorderFactory.createLineBorder(new Color(12, 46, 97), 2));
@@ -181,14 +172,12 @@ public class GenerateReportPanel extends JPanel {
         };
         onDemandTable = new JTable(onDemandTableModel);
         customizeTable(onDemandTable);
-
-        onDemandTable.getTableHeader().addMouseListener(new MouseAdapter() {
-            public void mouseClicked(MouseEvent e) {
-                int col = onDemandTable.columnAtPoint(e.getPoint());
-                String colName = onDemandTable.getColumnName(col);
-                sortOnDemandTable(colName);
-            }
-        });
+        onDemandTable.setRowSorter(new KeyedRowSorter<>(onDemandTableModel)
+                .sortLong(0, row -> onDemandResults.get(row).getDate().getTime())
+                .sortText(1, row -> onDemandResults.get(row).getType())
+                .sortText(2, row -> onDemandResults.get(row).getAccountNumber())
+                .sortLong(3, row -> onDemandResults.get(row).getAmountCents())
+                .sortText(4, row -> onDemandResults.get(row).getDescription()));
 
         JScrollPane onDemandScroll = new JScrollPane(onDemandTable);
         onDemandScroll.setBorder(BorderFactory.createLineBorder(new Color(12, 46, 97), 2));
@@ -268,36 +257,42 @@ public class GenerateReportPanel extends JPanel {
     private void loadDailyTransactions() {
         Date start = getStartOfDay(new Date());
         Date end = getEndOfDay(new Date());
-        List<Transaction> dailyTransactions = TransactionManager.getTransactionsByDateRange(start, end);
-        populateTable(dailyTableModel, dailyTransactions);
+        dailyTableModel.setQuery(currentTypeQuery().between(start, end).build());
     }
 
     private Date getEndOfDay(Date date) {
-        return date;
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(getStartOfDay(date));
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+        return new Date(cal.getTimeInMillis() - 1);
     }
 
     private Date getStartOfDay(Date date) {
-        return date;
+        Calendar cal = Calendar.getInstance();
+        cal.setTime(date);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.set(Calendar.SECOND, 0);
+        cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTime();
     }
 
     private void loadSummaryOfTransactions() {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        Map<String, Double> summary = new HashMap<>();
-        for (Transaction t : all) {
-            summary.put(t.getType(), summary.getOrDefault(t.getType(), 0.0) + t.getAmount());
-        }
-        summaryTableModel.setRowCount(0);
-        summary.forEach((type, amount) -> summaryTableModel.addRow(new Object[]{type, amount}));
+        Map<String, TransactionSummary> summary =
+                TransactionManager.getSummaryByType(new Date(0), new Date(Long.MAX_VALUE));
+        List<Object[]> rows = new ArrayList<>();
+        summary.forEach((type, totals) -> rows.add(new Object[]{type, totals.getTotal()}));
+        summaryTotals = new ArrayList<>(summary.values());
+        replaceRows(summaryTableModel, rows);
     }
 
     private void loadSummaryPerAccount() {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        Map<String, Double> summary = new HashMap<>();
-        for (Transaction t : all) {
-            summary.put(t.getAccountNumber(), summary.getOrDefault(t.getAccountNumber(), 0.0) + t.getAmount());
-        }
-        perAccountTableModel.setRowCount(0);
-        summary.forEach((acc, amount) -> perAccountTableModel.addRow(new Object[]{acc, amount}));
+        Map<String, TransactionSummary> summary =
+                TransactionManager.getSummaryByAccount(new Date(0), new Date(Long.MAX_VALUE));
+        List<Object[]> rows = new ArrayList<>();
+        summary.forEach((acc, totals) -> rows.add(new Object[]{acc, totals.getTotal()}));
+        perAccountTotals = new ArrayList<>(summary.values());
+        replaceRows(perAccountTableModel, rows);
     }
 
     private void performOnDemandSearch() {
@@ -306,23 +301,37 @@ public class GenerateReportPanel extends JPanel {
             JOptionPane.showMessageDialog(this, "Please enter a search term.", "Warning", JOptionPane.WARNING_MESSAGE);
             return;
         }
-        List<Transaction> results = TransactionManager.searchTransactions(keyword.toLowerCase());
-        populateTable(onDemandTableModel, results);
+        List<Transaction> results = TransactionManager.query(currentTypeQuery().text(keyword).build());
+        List<Object[]> rows = new ArrayList<>(results.size());
+        for (Transaction t : results) {
+            rows.add(toRow(t));
+        }
+        onDemandResults = results;
+        replaceRows(onDemandTableModel, rows);
     }
 
-    private void populateTable(DefaultTableModel model, List<Transaction> transactions) {
-        model.setRowCount(0);
-        for (Transaction t : transactions) {
-            if (currentTransactionType.equals("All") || t.getType().equalsIgnoreCase(currentTransactionType)) {
-                model.addRow(new Object[]{
-                        DATE_TIME_FORMAT.format(t.getDate()),
-                        t.getType(),
-                        t.getAccountNumber(),
-                        t.getAmount(),
-                        t.getDescription()
-                });
-            }
+    /**
+     * Swaps in all rows with one change event, so a sorted table re-sorts once rather than
+     * once per added row.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static void replaceRows(DefaultTableModel model, List<Object[]> rows) {
+        Vector<Vector> data = model.getDataVector();
+        data.clear();
+        for (Object[] row : rows) {
+            data.add(new Vector<>(Arrays.asList(row)));
         }
+        model.fireTableDataChanged();
+    }
+
+    private static Object[] toRow(Transaction t) {
+        return new Object[]{
+                DATE_TIME_FORMAT.format(t.getDate()),
+                t.getType(),
+                t.getAccountNumber(),
+                t.getAmount(),
+                t.getDescription()
+        };
     }
 
     private void editTransaction() {
@@ -342,165 +351,63 @@ public class GenerateReportPanel extends JPanel {
         }
     }
 
-    private void updateTransactionAmount(int row) {
-        String dateStr = (String) dailyTableModel.getValueAt(row, 0);
-        String type = (String) dailyTableModel.getValueAt(row, 1);
-        String accNumber = (String) dailyTableModel.getValueAt(row, 2);
-        String desc = (String) dailyTableModel.getValueAt(row, 4);
-        double newAmount = (Double) dailyTableModel.getValueAt(row, 3);
-
-        List<Transaction> transactions = TransactionManager.getTransactionsByAccount(accNumber);
-        for (Transaction t : transactions) {
-            if (DATE_TIME_FORMAT.format(t.getDate()).equals(dateStr)
-                    && t.getType().equalsIgnoreCase(type)
-                    && t.getDescription().equals(desc)) {
-                boolean success = TransactionManager.updateTransaction(t.getTransactionId(), newAmount);
-                if (success) {
-                    JOptionPane.showMessageDialog(this, "Transaction updated.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(this, "Failed to update transaction.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
-                loadDailyTransactions();
-                break;
+    private void updateTransactionAmount(int row, double newAmount) {
+        Transaction t = dailyTableModel.getTransactionAt(row);
+        if (t == null) return;
+        UiCommands.run(this, dailyTable, AccountCommands.updateTransaction(t, newAmount), success -> {
+            if (success) {
+                JOptionPane.showMessageDialog(this, "Transaction updated.", "Success", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to update transaction.", "Error", JOptionPane.ERROR_MESSAGE);
             }
-        }
+            loadDailyTransactions();
+        });
     }
 
     private void sortTransactionsByMonth() {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        all.sort(Comparator.comparing(t -> {
-            Calendar c = Calendar.getInstance();
-            c.setTime(t.getDate());
-            return c.get(Calendar.MONTH);
-        }));
-        populateTable(dailyTableModel, all);
+        dailyTableModel.setQuery(currentTypeQuery().sort(TransactionQuery.Sort.MONTH).build());
     }
 
     private void sortTransactionsByDay() {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        all.sort(Comparator.comparing(t -> {
-            Calendar c = Calendar.getInstance();
-            c.setTime(t.getDate());
-            return c.get(Calendar.DAY_OF_MONTH);
-        }));
-        populateTable(dailyTableModel, all);
+        dailyTableModel.setQuery(currentTypeQuery().sort(TransactionQuery.Sort.DAY_OF_MONTH).build());
     }
 
     private void filterTransactionsToday() {
-        Calendar cal = Calendar.getInstance();
-        int y = cal.get(Calendar.YEAR), m = cal.get(Calendar.MONTH), d = cal.get(Calendar.DAY_OF_MONTH);
-        List<Transaction> filtered = new ArrayList<>();
-        for (Transaction t : TransactionManager.getTransactionsByDateRange(new Date(0), new Date())) {
-            cal.setTime(t.getDate());
-            if (cal.get(Calendar.YEAR) == y && cal.get(Calendar.MONTH) == m && cal.get(Calendar.DAY_OF_MONTH) == d) filtered.add(t);
-        }
-        populateTable(dailyTableModel, filtered);
+        Date now = new Date();
+        dailyTableModel.setQuery(currentTypeQuery()
+                .between(getStartOfDay(now), getEndOfDay(now))
+                .build());
     }
 
     private void filterTransactionsPrevious() {
-        Calendar today = Calendar.getInstance();
-        Calendar yesterday = (Calendar) today.clone();
+        Calendar yesterday = Calendar.getInstance();
         yesterday.add(Calendar.DAY_OF_MONTH, -1);
-        List<Transaction> filtered = new ArrayList<>();
-        for (Transaction t : TransactionManager.getTransactionsByDateRange(new Date(0), new Date())) {
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(t.getDate());
-            if (cal.get(Calendar.YEAR) == yesterday.get(Calendar.YEAR) &&
-                    cal.get(Calendar.MONTH) == yesterday.get(Calendar.MONTH) &&
-                    cal.get(Calendar.DAY_OF_MONTH) == yesterday.get(Calendar.DAY_OF_MONTH)) filtered.add(t);
-        }
-        populateTable(dailyTableModel, filtered);
+        dailyTableModel.setQuery(currentTypeQuery()
+                .between(getStartOfDay(yesterday.getTime()), getEndOfDay(yesterday.getTime()))
+                .build());
     }
 
     private void sortByAccountNumber(boolean ascending) {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        if (!currentTransactionType.equals("All")) all.removeIf(t -> !t.getType().equalsIgnoreCase(currentTransactionType));
-        all.sort(Comparator.comparing(Transaction::getAccountNumber));
-        if (!ascending) Collections.reverse(all);
-        populateTable(dailyTableModel, all);
+        dailyTableModel.setQuery(currentTypeQuery()
+                .sort(ascending ? TransactionQuery.Sort.ACCOUNT_ASCENDING : TransactionQuery.Sort.ACCOUNT_DESCENDING)
+                .build());
     }
 
     private void sortByAmount(boolean ascending) {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        if (!currentTransactionType.equals("All")) all.removeIf(t -> !t.getType().equalsIgnoreCase(currentTransactionType));
-        all.sort(Comparator.comparingDouble(Transaction::getAmount));
-        if (!ascending) Collections.reverse(all);
-        populateTable(dailyTableModel, all);
+        dailyTableModel.setQuery(currentTypeQuery()
+                .sort(ascending ? TransactionQuery.Sort.AMOUNT_ASCENDING : TransactionQuery.Sort.AMOUNT_DESCENDING)
+                .build());
     }
 
     private void filterTransactionsByType(String type) {
-        List<Transaction> all = TransactionManager.getTransactionsByDateRange(new Date(0), new Date(Long.MAX_VALUE));
-        List<Transaction> filtered = new ArrayList<>();
-        for (Transaction t : all) {
-            if (t.getType().equalsIgnoreCase(type)) filtered.add(t);
-        }
         currentTransactionType = type;
-        populateTable(dailyTableModel, filtered);
-    }
-
-    private void sortSummaryByAmount() {
-        int count = summaryTableModel.getRowCount();
-        List<Object[]> rows = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            rows.add(new Object[]{summaryTableModel.getValueAt(i, 0), summaryTableModel.getValueAt(i, 1)});
-        }
-        rows.sort(Comparator.comparing(o -> (Double) o[1]));
-        summaryTableModel.setRowCount(0);
-        for (Object[] r : rows) summaryTableModel.addRow(r);
+        dailyTableModel.setQuery(currentTypeQuery().build());
     }
 
-    private void sortPerAccountByAccountNumber() {
-        int count = perAccountTableModel.getRowCount();
-        List<Object[]> rows = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            rows.add(new Object[]{perAccountTableModel.getValueAt(i, 0), perAccountTableModel.getValueAt(i, 1)});
-        }
-        rows.sort(Comparator.comparing(o -> o[0].toString()));
-        perAccountTableModel.setRowCount(0);
-        for (Object[] r : rows) perAccountTableModel.addRow(r);
-    }
-
-    private void sortPerAccountByAmount() {
-        int count = perAccountTableModel.getRowCount();
-        List<Object[]> rows = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            rows.add(new Object[]{perAccountTableModel.getValueAt(i, 0), perAccountTableModel.getValueAt(i, 1)});
-        }
-        rows.sort(Comparator.comparingDouble(o -> (Double) o[1]));
-        perAccountTableModel.setRowCount(0);
-        for (Object[] r : rows) perAccountTableModel.addRow(r);
-    }
-
-    private void sortOnDemandTable(String columnName) {
-        int count = onDemandTableModel.getRowCount();
-        List<Object[]> rows = new ArrayList<>();
-        for (int i = 0; i < count; i++) {
-            rows.add(new Object[]{
-                    onDemandTableModel.getValueAt(i, 0),
-                    onDemandTableModel.getValueAt(i, 1),
-                    onDemandTableModel.getValueAt(i, 2),
-                    onDemandTableModel.getValueAt(i, 3),
-                    onDemandTableModel.getValueAt(i, 4)
-            });
-        }
-        Comparator<Object[]> comparator;
-        switch (columnName) {
-            case "Date": comparator = Comparator.comparing(o -> {
-                try {
-                    return DATE_TIME_FORMAT.parse(o[0].toString());
-                } catch (Exception ex) {
-                    return new Date(0);
-                }
-            }); break;
-            case "Type": comparator = Comparator.comparing(o -> o[1].toString()); break;
-            case "Account Number": comparator = Comparator.comparing(o -> o[2].toString()); break;
-            case "Amount": comparator = Comparator.comparingDouble(o -> (Double) o[3]); break;
-            case "Description": comparator = Comparator.comparing(o -> o[4].toString()); break;
-            default: return;
-        }
-        rows.sort(comparator);
-        onDemandTableModel.setRowCount(0);
-        for (Object[] r : rows) onDemandTableModel.addRow(r);
+    private TransactionQuery.Builder currentTypeQuery() {
+        TransactionQuery.Builder query = TransactionQuery.builder();
+        if (!currentTransactionType.equals("All")) query.type(currentTransactionType);
+        return query;
     }
 
     private void styleButton(JButton btn) {
@@ -1,7 +1,6 @@
 package Group2BankSystem.ui;
 
 import Group2BankSystem.model.*;
-import Group2BankSystem.exceptions.*;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -35,6 +34,18 @@ public class InvestmentAccountPanel extends JPanel implements ManageAccountPanel
         add(buttonPanel, BorderLayout.SOUTH);
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        tableModel.reconnect();
+    }
+
+    @Override
+    public void removeNotify() {
+        tableModel.dispose();
+        super.removeNotify();
+    }
+
     private JButton createOperationButton(String text, ActionListener action) {
         JButton button = new JButton(text);
         button.addActionListener(action);
@@ -54,7 +65,6 @@ public class InvestmentAccountPanel extends JPanel implements ManageAccountPanel
         InvestmentAccount account = getSelectedAccount();
         if (account != null) {
             new EditAccountDialog(parent.getMainFrame(), account).setVisible(true);
-            refresh();
         }
     }
 
@@ -65,14 +75,10 @@ public class InvestmentAccountPanel extends JPanel implements ManageAccountPanel
         String amountStr = JOptionPane.showInputDialog(this, "Enter deposit amount:");
         try {
             double amount = Double.parseDouble(amountStr);
-            if (account.deposit(amount)) {
-                JOptionPane.showMessageDialog(this, "Deposit successful");
-                refresh();
-            }
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.deposit(account, amount),
+                    balance -> JOptionPane.showMessageDialog(this, "Deposit successful"));
         } catch (NumberFormatException ex) {
             showError("Please enter a valid number");
-        } catch (InvalidAmountException | AccountClosedException ex) {
-            showError(ex.getMessage());
         }
     }
 
@@ -80,10 +86,10 @@ public class InvestmentAccountPanel extends JPanel implements ManageAccountPanel
         InvestmentAccount account = getSelectedAccount();
         if (account == null) return;
 
-        double interest = account.computeMonthlyInterest();
-        JOptionPane.showMessageDialog(this,
-                String.format("Monthly interest: %.2f", interest),
-                "Interest Calculation", JOptionPane.INFORMATION_MESSAGE);
+        UiCommands.run(this, (Component) e.getSource(), AccountCommands.computeMonthlyInterest(account),
+                interest -> JOptionPane.showMessageDialog(this,
+                        String.format("Monthly interest: %.2f", interest),
+                        "Interest Calculation", JOptionPane.INFORMATION_MESSAGE));
     }
 
     private void viewBalance(ActionEvent e) {
@@ -108,9 +114,8 @@ public class InvestmentAccountPanel extends JPanel implements ManageAccountPanel
                 "Confirm Close", JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            account.closeAccount();
-            JOptionPane.showMessageDialog(this, "Account closed successfully");
-            refresh();
+            UiCommands.run(this, (Component) e.getSource(), AccountCommands.closeAccount(account),
+                    balance -> JOptionPane.showMessageDialog(this, "Account closed successfully"));
         }
     }
 
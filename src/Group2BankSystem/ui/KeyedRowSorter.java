@@ -0,0 +1,224 @@
+package Group2BankSystem.ui;
+
+import javax.swing.*;
+import javax.swing.table.TableModel;
+import java.util.*;
+import java.util.List;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Row sorter that orders a table by typed keys instead of the formatted cell values.
+ * <p>
+ * Each sortable column is registered with a function from model row to key, either a
+ * {@code long} such as a timestamp or an amount in cents, or a string. A sort reads every key
+ * once into an array and orders a permutation of row indexes by it, so rows are never copied
+ * or re-added to the model and the table repaints once. Columns without a key are not
+ * sortable. Sorting is stable, so rows with equal keys keep their model order.
+ * </p>
+ */
+final class KeyedRowSorter<M extends TableModel> extends RowSorter<M> {
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private final M model;
+    private final Map<Integer, IntToLongFunction> longKeys = new HashMap<>();
+    private final Map<Integer, IntFunction<String>> textKeys = new HashMap<>();
+    private List<SortKey> sortKeys = List.of();
+    private int[] viewToModel;
+    private int[] modelToView;
+
+    KeyedRowSorter(M model) {
+        this.model = model;
+    }
+
+    KeyedRowSorter<M> sortLong(int column, IntToLongFunction key) {
+        longKeys.put(column, key);
+        return this;
+    }
+
+    KeyedRowSorter<M> sortText(int column, IntFunction<String> key) {
+        textKeys.put(column, key);
+        return this;
+    }
+
+    @Override
+    public M getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        if (!longKeys.containsKey(column) && !textKeys.containsKey(column)) return;
+        SortOrder order = !sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column
+                && sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING
+                ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+        setSortKeys(List.of(new SortKey(column, order)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> sorted = keys == null || keys.isEmpty() ? List.of() : List.of(keys.get(0));
+        if (sorted.equals(sortKeys)) return;
+        sortKeys = sorted;
+        fireSortOrderChanged();
+        sort();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            checkIndex(index);
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            checkIndex(index);
+            return index;
+        }
+        return modelToView[index];
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        viewToModel = null;
+        modelToView = null;
+        if (!sortKeys.isEmpty()) {
+            sortKeys = List.of();
+            fireSortOrderChanged();
+        }
+    }
+
+    @Override
+    public void allRowsChanged() {
+        resort();
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        resort();
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        resort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        resort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) resort();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= model.getRowCount()) {
+            throw new IndexOutOfBoundsException("Invalid row index " + index);
+        }
+    }
+
+    private void resort() {
+        if (sortKeys.isEmpty()) {
+            viewToModel = null;
+            modelToView = null;
+        } else {
+            sort();
+        }
+    }
+
+    private void sort() {
+        int[] previous = viewToModel;
+        int rows = model.getRowCount();
+        if (sortKeys.isEmpty()) {
+            viewToModel = null;
+            modelToView = null;
+        } else {
+            SortKey key = sortKeys.get(0);
+            IntBinaryOperator order = orderFor(key.getColumn(), rows);
+            if (key.getSortOrder() == SortOrder.DESCENDING) {
+                IntBinaryOperator ascending = order;
+                order = (a, b) -> ascending.applyAsInt(b, a);
+            }
+            int[] permutation = new int[rows];
+            for (int i = 0; i < rows; i++) permutation[i] = i;
+            mergeSort(permutation, permutation.clone(), 0, rows, order);
+            viewToModel = permutation;
+            modelToView = new int[rows];
+            for (int i = 0; i < rows; i++) modelToView[permutation[i]] = i;
+        }
+        fireRowSorterChanged(previous);
+    }
+
+    /**
+     * Reads the column's key for every row and returns a comparison of model rows by it.
+     */
+    private IntBinaryOperator orderFor(int column, int rows) {
+        IntToLongFunction longKey = longKeys.get(column);
+        if (longKey != null) {
+            long[] keys = new long[rows];
+            for (int i = 0; i < rows; i++) keys[i] = longKey.applyAsLong(i);
+            return (a, b) -> Long.compare(keys[a], keys[b]);
+        }
+        IntFunction<String> textKey = textKeys.get(column);
+        if (textKey == null) {
+            return (a, b) -> Integer.compare(a, b);
+        }
+        String[] keys = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            String text = textKey.apply(i);
+            keys[i] = text == null ? "" : text;
+        }
+        return (a, b) -> keys[a].compareToIgnoreCase(keys[b]);
+    }
+
+    /**
+     * Stable merge sort of {@code rows[from, to)}; {@code buffer} starts as a copy of {@code rows}.
+     */
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, IntBinaryOperator order) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int j = i - 1;
+                for (; j >= from && order.applyAsInt(rows[j], row) > 0; j--) rows[j + 1] = rows[j];
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        mergeSort(buffer, rows, from, middle, order);
+        mergeSort(buffer, rows, middle, to, order);
+        if (order.applyAsInt(buffer[middle - 1], buffer[middle]) <= 0) {
+            System.arraycopy(buffer, from, rows, from, to - from);
+            return;
+        }
+        for (int i = from, left = from, right = middle; i < to; i++) {
+            if (right >= to || left < middle && order.applyAsInt(buffer[left], buffer[right]) <= 0) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+}
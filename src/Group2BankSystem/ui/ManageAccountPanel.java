@@ -232,7 +232,7 @@ public class ManageAccountPanel extends JPanel {
             List<? extends BankAccount> accounts;
 
             switch (selectedAccountType) {
-                case "Bank Account" -> accounts = AccountManager.getAccounts(BankAccount.class);
+                case "Bank Account" -> accounts = AccountManager.getAccountsOfType("Bank Account");
                 case "Checking Account" -> accounts = AccountManager.getAccounts(CheckingAccount.class);
                 case "Investment Account" -> accounts = AccountManager.getAccounts(InvestmentAccount.class);
                 case "Credit Card Account" -> accounts = AccountManager.getAccounts(CreditCardAccount.class);
@@ -385,9 +385,8 @@ public class ManageAccountPanel extends JPanel {
                 JOptionPane.showMessageDialog(panel, "Name cannot be empty.", "Error", JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            account.setAccountHolderName(newName);
-            AccountManager.updateAccount(account);
-            JOptionPane.showMessageDialog(panel, "Account updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+            UiCommands.run(panel, saveBtn, AccountCommands.rename(account, newName), result ->
+                    JOptionPane.showMessageDialog(panel, "Account updated successfully.", "Success", JOptionPane.INFORMATION_MESSAGE));
         });
 
         panel.add(label);
@@ -412,9 +411,8 @@ public class ManageAccountPanel extends JPanel {
             try {
                 double amt = Double.parseDouble(amountField.getText().trim());
                 if (amt <= 0) throw new NumberFormatException();
-                account.deposit(amt);
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, "Deposit successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                UiCommands.run(panel, depositBtn, AccountCommands.deposit(account, amt), result ->
+                        JOptionPane.showMessageDialog(panel, "Deposit successful.", "Success", JOptionPane.INFORMATION_MESSAGE));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(panel, "Please enter a valid positive number.", "Input Error", JOptionPane.ERROR_MESSAGE);
             } catch (Exception ex) {
@@ -444,9 +442,8 @@ public class ManageAccountPanel extends JPanel {
             try {
                 double amt = Double.parseDouble(amountField.getText().trim());
                 if (amt <= 0) throw new NumberFormatException();
-                account.withdraw(amt);
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, "Withdrawal successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                UiCommands.run(panel, withdrawBtn, AccountCommands.withdraw(account, amt), result ->
+                        JOptionPane.showMessageDialog(panel, "Withdrawal successful.", "Success", JOptionPane.INFORMATION_MESSAGE));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(panel, "Please enter a valid positive number.", "Input Error", JOptionPane.ERROR_MESSAGE);
             } catch (Exception ex) {
@@ -492,14 +489,8 @@ public class ManageAccountPanel extends JPanel {
                     JOptionPane.showMessageDialog(panel, "Target account not found.", "Error", JOptionPane.ERROR_MESSAGE);
                     return;
                 }
-                boolean success = account.transfer(targetOpt.get(), amt);
-                if (success) {
-                    AccountManager.updateAccount(account);
-                    AccountManager.updateAccount(targetOpt.get());
-                    JOptionPane.showMessageDialog(panel, "Transfer successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
-                } else {
-                    JOptionPane.showMessageDialog(panel, "Transfer failed.", "Error", JOptionPane.ERROR_MESSAGE);
-                }
+                UiCommands.run(panel, transferBtn, AccountCommands.transfer(account, targetOpt.get(), amt), result ->
+                        JOptionPane.showMessageDialog(panel, "Transfer successful.", "Success", JOptionPane.INFORMATION_MESSAGE));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(panel, "Please enter valid positive number.", "Input Error", JOptionPane.ERROR_MESSAGE);
             } catch (Exception ex) {
@@ -525,9 +516,8 @@ public class ManageAccountPanel extends JPanel {
         closeBtn.addActionListener(e -> {
             int confirm = JOptionPane.showConfirmDialog(panel, "Are you sure you want to close this account?", "Confirm", JOptionPane.YES_NO_OPTION);
             if (confirm == JOptionPane.YES_OPTION) {
-                account.closeAccount();
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, "Account closed.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                UiCommands.run(panel, closeBtn, AccountCommands.closeAccount(account), result ->
+                        JOptionPane.showMessageDialog(panel, "Account closed.", "Success", JOptionPane.INFORMATION_MESSAGE));
             }
         });
 
@@ -551,9 +541,8 @@ public class ManageAccountPanel extends JPanel {
                 double amt = Double.parseDouble(amountField.getText().trim());
                 if (amt <= 0) throw new NumberFormatException();
 
-                account.encashCheck(amt);
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, "Check encashed successfully.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                UiCommands.run(panel, encashBtn, AccountCommands.encashCheck(account, amt), result ->
+                        JOptionPane.showMessageDialog(panel, "Check encashed successfully.", "Success", JOptionPane.INFORMATION_MESSAGE));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(panel, "Please enter valid positive number.", "Input Error", JOptionPane.ERROR_MESSAGE);
             } catch (Exception ex) {
@@ -595,13 +584,8 @@ public class ManageAccountPanel extends JPanel {
         JButton computeBtn = new JButton("Compute");
         computeBtn.setFont(new Font("Segoe UI", Font.BOLD, 16));
         computeBtn.addActionListener(e -> {
-            try {
-                double interest = account.computeMonthlyInterest();
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, String.format("Interest computed: %.2f", interest), "Success", JOptionPane.INFORMATION_MESSAGE);
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(panel, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
-            }
+            UiCommands.run(panel, computeBtn, AccountCommands.computeMonthlyInterest(account), interest ->
+                    JOptionPane.showMessageDialog(panel, String.format("Interest computed: %.2f", interest), "Success", JOptionPane.INFORMATION_MESSAGE));
         });
 
         panel.add(label);
@@ -625,9 +609,8 @@ public class ManageAccountPanel extends JPanel {
                 double amt = Double.parseDouble(amountField.getText().trim());
                 if (amt <= 0) throw new NumberFormatException();
 
-                account.charge(amt);
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, "Charge successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                UiCommands.run(panel, chargeBtn, AccountCommands.charge(account, amt), result ->
+                        JOptionPane.showMessageDialog(panel, "Charge successful.", "Success", JOptionPane.INFORMATION_MESSAGE));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(panel, "Please enter valid positive number.", "Input Error", JOptionPane.ERROR_MESSAGE);
             } catch (Exception ex) {
@@ -657,9 +640,8 @@ public class ManageAccountPanel extends JPanel {
                 double amt = Double.parseDouble(amountField.getText().trim());
                 if (amt <= 0) throw new NumberFormatException();
 
-                account.makePayment(amt);
-                AccountManager.updateAccount(account);
-                JOptionPane.showMessageDialog(panel, "Payment successful.", "Success", JOptionPane.INFORMATION_MESSAGE);
+                UiCommands.run(panel, payBtn, AccountCommands.makePayment(account, amt), result ->
+                        JOptionPane.showMessageDialog(panel, "Payment successful.", "Success", JOptionPane.INFORMATION_MESSAGE));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(panel, "Please enter valid positive number.", "Input Error", JOptionPane.ERROR_MESSAGE);
             } catch (Exception ex) {
@@ -2,16 +2,32 @@ package Group2BankSystem.ui;
 
 import Group2BankSystem.model.*;
 import javax.swing.*;
-import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
 
 public class ReportPanel extends JPanel {
+    private static final ExecutorService exporter = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "transaction-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final MainFrame frame;
     private final JTable reportTable;
-    private final DefaultTableModel tableModel;
+    private final TransactionTableModel tableModel;
     private final JComboBox<String> typeCombo;
     private final JFormattedTextField startDateField;
     private final JFormattedTextField endDateField;
@@ -43,11 +59,28 @@ public class ReportPanel extends JPanel {
         filterPanel.add(exportButton);
 
         String[] columns = {"Date", "Account", "Type", "Amount", "Description"};
-        tableModel = new DefaultTableModel(columns, 0) {
+        SimpleDateFormat rowDateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+        tableModel = new TransactionTableModel(columns, t -> new Object[]{
+                rowDateFormat.format(t.getDate()),
+                t.getAccountNumber(),
+                t.getType(),
+                t.getAmount(),
+                t.getDescription()
+        }) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 return column == 3;
             }
+
+            @Override
+            public Class<?> getColumnClass(int column) {
+                return column == 3 ? Double.class : String.class;
+            }
+
+            @Override
+            public void setValueAt(Object value, int row, int column) {
+                updateTransactionAmount(row, (Double) value);
+            }
         };
 
         reportTable = new JTable(tableModel);
@@ -62,40 +95,76 @@ public class ReportPanel extends JPanel {
         add(backButton, BorderLayout.SOUTH);
 
         filterButton.addActionListener(this::applyFilters);
-        reportTable.getModel().addTableModelListener(e -> {
-            if (e.getColumn() == 3) {
-                updateTransactionAmount(e.getFirstRow());
-            }
-        });
+        exportButton.addActionListener(this::exportCsv);
     }
 
     private void applyFilters(ActionEvent e) {
-        Date startDate = (Date) startDateField.getValue();
-        Date endDate = (Date) endDateField.getValue();
-        String type = (String) typeCombo.getSelectedItem();
-
-        tableModel.setRowCount(0);
-        TransactionManager.getTransactionsByDateRange(startDate, endDate)
-                .stream()
-                .filter(t -> type.equals("All") || t.getType().equalsIgnoreCase(type))
-                .forEach(t -> tableModel.addRow(new Object[]{
-                        new SimpleDateFormat("yyyy-MM-dd HH:mm").format(t.getDate()),
-                        t.getAccountNumber(),
-                        t.getType(),
-                        t.getAmount(),
-                        t.getDescription()
-                }));
+        tableModel.setQuery(buildQuery());
     }
 
-    private void updateTransactionAmount(int row) {
-        String transactionId = (String) tableModel.getValueAt(row, 0);
-        double newAmount = (Double) tableModel.getValueAt(row, 3);
+    private void exportCsv(ActionEvent e) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("transactions.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path target = chooser.getSelectedFile().toPath();
+        TransactionQuery query = buildQuery();
+        UiCommands.run(this, (Component) e.getSource(),
+                CompletableFuture.supplyAsync(() -> writeCsv(target, query), exporter),
+                rows -> JOptionPane.showMessageDialog(this, "Exported " + rows + " transactions"));
+    }
 
-        if (TransactionManager.updateTransaction(transactionId, newAmount)) {
-            JOptionPane.showMessageDialog(this, "Transaction updated successfully");
-        } else {
-            JOptionPane.showMessageDialog(this, "Failed to update transaction",
-                    "Error", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Streams straight from the index so large ranges are never held in memory at once.
+     * Returns the number of transactions written.
+     */
+    private static long writeCsv(Path target, TransactionQuery query) {
+        long rows = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(target);
+             Stream<Transaction> transactions = TransactionManager.stream(query)) {
+            writer.write("Transaction ID,Date,Account,Type,Category,Amount,Description,Reconciled");
+            writer.newLine();
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next().toCSVString());
+                writer.newLine();
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Export failed: " + e.getMessage(), e);
+        }
+        return rows;
+    }
+
+    private TransactionQuery buildQuery() {
+        TransactionQuery.Builder query = TransactionQuery.builder()
+                .between((Date) startDateField.getValue(), (Date) endDateField.getValue());
+        switch ((String) typeCombo.getSelectedItem()) {
+            case "Deposits" -> query.category(Transaction.TransactionCategory.DEPOSIT);
+            case "Withdrawals" -> query.category(Transaction.TransactionCategory.WITHDRAWAL);
+            case "Transfers" -> query.category(Transaction.TransactionCategory.TRANSFER);
+            case "Fees" -> query.category(Transaction.TransactionCategory.FEE);
+            case "Interest" -> query.category(Transaction.TransactionCategory.INTEREST);
+            default -> { }
+        }
+        return query.build();
+    }
+
+    private void updateTransactionAmount(int row, double newAmount) {
+        Transaction transaction = tableModel.getTransactionAt(row);
+        if (transaction == null) {
+            return;
         }
+
+        UiCommands.run(this, reportTable, AccountCommands.updateTransaction(transaction, newAmount), success -> {
+            if (success) {
+                tableModel.refresh();
+                JOptionPane.showMessageDialog(this, "Transaction updated successfully");
+            } else {
+                JOptionPane.showMessageDialog(this, "Failed to update transaction",
+                        "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
     }
 }
\ No newline at end of file
@@ -5,18 +5,32 @@ import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.swing.*;
 import javax.swing.event.*;
 import javax.swing.table.*;
 
 public class SearchAccountPanel extends JPanel {
+    private static final int DEBOUNCE_MILLIS = 120;
+    private static final ExecutorService suggestionLoader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "account-suggestions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final MainFrame frame;
     private final JTextField searchField;
     private final JTable resultTable;
     private final DefaultTableModel tableModel;
     private final JPopupMenu suggestionsPopup;
     private final int MAX_SUGGESTIONS = 7;
+    private final SuggestionItem[] suggestionItems = new SuggestionItem[MAX_SUGGESTIONS];
+    private final Timer suggestionTimer;
+    private final Timer hideTimer;
+    private Future<?> pendingLookup;
+    private int lookupGeneration;
     private boolean isSuggestionSelected = false;
 
     public SearchAccountPanel(MainFrame frame) {
@@ -35,6 +49,10 @@ public class SearchAccountPanel extends JPanel {
         suggestionsPopup = new JPopupMenu();
         suggestionsPopup.setFocusable(false);
         suggestionsPopup.setBorder(BorderFactory.createLineBorder(new Color(200, 200, 200)));
+        for (int i = 0; i < MAX_SUGGESTIONS; i++) {
+            suggestionItems[i] = new SuggestionItem();
+            suggestionsPopup.add(suggestionItems[i]);
+        }
 
         String[] columns = {"Account Number", "Account Holder", "Type", "Balance", "Status"};
         tableModel = new DefaultTableModel(columns, 0) {
@@ -60,30 +78,26 @@ public class SearchAccountPanel extends JPanel {
         searchButton.addActionListener(this::performSearch);
         searchField.addActionListener(this::performSearch);
 
+        // Every keystroke restarts one timer, so a burst of typing triggers a single lookup
+        suggestionTimer = new Timer(DEBOUNCE_MILLIS, event -> {
+            if (!isSuggestionSelected) {
+                refreshSuggestions();
+            }
+            isSuggestionSelected = false;
+        });
+        suggestionTimer.setRepeats(false);
+        hideTimer = new Timer(200, event -> suggestionsPopup.setVisible(false));
+        hideTimer.setRepeats(false);
+
         searchField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                // Use timer to prevent UI issues when typing while hovering
-                Timer timer = new Timer(50, event -> {
-                    if (!isSuggestionSelected) {
-                        refreshSuggestions();
-                    }
-                    isSuggestionSelected = false;
-                });
-                timer.setRepeats(false);
-                timer.start();
+                suggestionTimer.restart();
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                Timer timer = new Timer(50, event -> {
-                    if (!isSuggestionSelected) {
-                        refreshSuggestions();
-                    }
-                    isSuggestionSelected = false;
-                });
-                timer.setRepeats(false);
-                timer.start();
+                suggestionTimer.restart();
             }
 
             @Override
@@ -104,94 +118,51 @@ public class SearchAccountPanel extends JPanel {
                 if (!suggestionsPopup.isVisible() ||
                         e.getOppositeComponent() == null ||
                         !SwingUtilities.isDescendingFrom(e.getOppositeComponent(), suggestionsPopup)) {
-                    Timer timer = new Timer(200, event -> {
-                        if (suggestionsPopup.isVisible()) {
-                            suggestionsPopup.setVisible(false);
-                        }
-                    });
-                    timer.setRepeats(false);
-                    timer.start();
+                    hideTimer.restart();
                 }
             }
         });
     }
 
 
+    /**
+     * Looks up suggestions for the current text on a background thread. A newer lookup
+     * cancels the one before it, and results for text that has since changed are dropped.
+     */
     private void refreshSuggestions() {
-        SwingUtilities.invokeLater(() -> {
-            suggestionsPopup.setVisible(false);
-            showSuggestions();
-        });
-    }
-
-    private void showSuggestions() {
         String query = searchField.getText().trim();
-        suggestionsPopup.removeAll();
-
-
+        if (pendingLookup != null) {
+            pendingLookup.cancel(true);
+        }
+        int generation = ++lookupGeneration;
         if (query.isEmpty()) {
             suggestionsPopup.setVisible(false);
             return;
         }
 
-        List<BankAccount> suggestions = getSuggestions(query);
+        pendingLookup = suggestionLoader.submit(() -> {
+            List<BankAccount> suggestions = getSuggestions(query);
+            SwingUtilities.invokeLater(() -> {
+                if (generation == lookupGeneration && query.equals(searchField.getText().trim())) {
+                    showSuggestions(query, suggestions);
+                }
+            });
+        });
+    }
 
+    private void showSuggestions(String query, List<BankAccount> suggestions) {
         if (suggestions.isEmpty()) {
             suggestionsPopup.setVisible(false);
             return;
         }
 
-        for (BankAccount account : suggestions) {
-            String displayText = account.getAccountNumber() + " - " + account.getAccountHolderName() + " - " + account.getAccountType();
-
-
-            JPanel itemPanel = new JPanel(new BorderLayout());
-            itemPanel.setBackground(Color.WHITE);
-            itemPanel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
-
-            JLabel itemLabel = new JLabel(displayText);
-            itemLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
-
-            if (account.getAccountNumber().contains(query) ||
-                    account.getAccountHolderName().toLowerCase().contains(query.toLowerCase())) {
-                itemLabel.setForeground(new Color(0, 100, 200));
-            }
-
-            itemPanel.add(itemLabel, BorderLayout.CENTER);
-
-
-            final BankAccount selectedAccount = account;
-            itemPanel.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mouseEntered(MouseEvent e) {
-                    itemPanel.setBackground(new Color(230, 240, 250));
-                    itemPanel.setCursor(new Cursor(Cursor.HAND_CURSOR));
-                }
-
-                @Override
-                public void mouseExited(MouseEvent e) {
-                    itemPanel.setBackground(Color.WHITE);
-                }
-
-                @Override
-                public void mousePressed(MouseEvent e) {
-                    isSuggestionSelected = true;
-                    searchField.setText(selectedAccount.getAccountNumber());
-                    suggestionsPopup.setVisible(false);
-                    displayAccountInTable(selectedAccount);
-                }
-            });
-
-            suggestionsPopup.add(itemPanel);
+        for (int i = 0; i < suggestionItems.length; i++) {
+            suggestionItems[i].bind(i < suggestions.size() ? suggestions.get(i) : null, query);
         }
 
-        if (suggestionsPopup.getComponentCount() > 0) {
-            suggestionsPopup.show(searchField, 0, searchField.getHeight());
-            suggestionsPopup.setPopupSize(searchField.getWidth(),
-                    Math.min(suggestions.size(), MAX_SUGGESTIONS) * 35);
-        } else {
-            suggestionsPopup.setVisible(false);
-        }
+        suggestionsPopup.show(searchField, 0, searchField.getHeight());
+        suggestionsPopup.setPopupSize(searchField.getWidth(),
+                Math.min(suggestions.size(), MAX_SUGGESTIONS) * 35);
     }
 
 
@@ -213,16 +184,7 @@ public class SearchAccountPanel extends JPanel {
             return new ArrayList<>();
         }
 
-        String lowerQuery = query.toLowerCase();
-
-
-        return AccountManager.getAccounts().stream()
-                .filter(account ->
-                        account.getAccountNumber().contains(query) ||
-                                account.getAccountHolderName().toLowerCase().contains(lowerQuery) ||
-                                    account.getAccountType().toLowerCase().startsWith(lowerQuery))
-                .limit(MAX_SUGGESTIONS)
-                .collect(Collectors.toList());
+        return AccountManager.suggestAccounts(query, MAX_SUGGESTIONS);
     }
 
     private void performSearch(ActionEvent e) {
@@ -255,4 +217,56 @@ public class SearchAccountPanel extends JPanel {
 
         suggestionsPopup.setVisible(false);
     }
-}
\ No newline at end of file
+
+    /**
+     * One row of the suggestions popup. The rows are created once and rebound to new
+     * accounts as the text changes.
+     */
+    private class SuggestionItem extends JPanel {
+        private final JLabel itemLabel = new JLabel();
+        private BankAccount account;
+
+        SuggestionItem() {
+            super(new BorderLayout());
+            setBackground(Color.WHITE);
+            setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+            setCursor(new Cursor(Cursor.HAND_CURSOR));
+            itemLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+            add(itemLabel, BorderLayout.CENTER);
+
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseEntered(MouseEvent e) {
+                    setBackground(new Color(230, 240, 250));
+                }
+
+                @Override
+                public void mouseExited(MouseEvent e) {
+                    setBackground(Color.WHITE);
+                }
+
+                @Override
+                public void mousePressed(MouseEvent e) {
+                    if (account == null) return;
+                    isSuggestionSelected = true;
+                    lookupGeneration++;
+                    searchField.setText(account.getAccountNumber());
+                    suggestionsPopup.setVisible(false);
+                    displayAccountInTable(account);
+                }
+            });
+        }
+
+        void bind(BankAccount account, String query) {
+            this.account = account;
+            setVisible(account != null);
+            if (account == null) return;
+
+            setBackground(Color.WHITE);
+            itemLabel.setText(account.getAccountNumber() + " - " + account.getAccountHolderName() + " - " + account.getAccountType());
+            boolean direct = account.getAccountNumber().contains(query) ||
+                    account.getAccountHolderName().toLowerCase().contains(query.toLowerCase());
+            itemLabel.setForeground(direct ? new Color(0, 100, 200) : UIManager.getColor("Label.foreground"));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package Group2BankSystem.ui;
+
+import Group2BankSystem.model.*;
+import javax.swing.*;
+import javax.swing.table.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Table model that shows the results of a transaction query without loading them all.
+ * <p>
+ * Rows are fetched and formatted a page at a time, when the table first asks for a row on
+ * that page, together with the pages on either side. Only a few pages are kept, so memory
+ * stays the same however long the result is. Queries run on a background thread; rows that
+ * are still loading show as blank and are repainted when they arrive. Queries whose order
+ * does not come from an index are sorted once on the loader thread into an array of index
+ * keys, and pages are looked up from it, so scrolling to the end does not sort the candidates
+ * again for every page.
+ * </p>
+ */
+public class TransactionTableModel extends AbstractTableModel {
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 8;
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "transaction-table-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String[] columns;
+    private final Function<Transaction, Object[]> formatter;
+    private final Map<Integer, Page> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Page> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Set<Integer> loading = new HashSet<>();
+
+    private TransactionQuery query;
+    private List<Transaction> transactions;
+    private List<String> pageTokens = List.of();
+    private TransactionKeys sortedKeys;
+    private int rowCount;
+    private int generation;
+
+    public TransactionTableModel(String[] columns, Function<Transaction, Object[]> formatter) {
+        this.columns = columns;
+        this.formatter = formatter;
+    }
+
+    /**
+     * Shows the results of {@code query}. The first page appears as soon as it is read; the
+     * full row count follows once a background pass has found where each page starts. Results
+     * in another order appear once they have been sorted.
+     */
+    public void setQuery(TransactionQuery query) {
+        reset(query, null);
+        fireTableDataChanged();
+        int current = generation;
+        loader.execute(() -> {
+            if (!TransactionManager.isIndexOrdered(query)) {
+                TransactionKeys keys = TransactionManager.sortKeys(query);
+                SwingUtilities.invokeLater(() -> {
+                    if (current != generation) return;
+                    sortedKeys = keys;
+                    rowCount = keys.size();
+                    fireTableDataChanged();
+                });
+                return;
+            }
+            List<Transaction> first = TransactionManager.getTransactionPage(query, PAGE_SIZE, null).getTransactions();
+            SwingUtilities.invokeLater(() -> {
+                if (current != generation || !pageTokens.isEmpty()) return;
+                rowCount = first.size();
+                pages.put(0, format(first));
+                fireTableDataChanged();
+            });
+            List<String> tokens = TransactionManager.getPageTokens(query, PAGE_SIZE);
+            TransactionPage last = TransactionManager.getTransactionPage(query, PAGE_SIZE, tokens.get(tokens.size() - 1));
+            SwingUtilities.invokeLater(() -> {
+                if (current != generation) return;
+                pageTokens = tokens;
+                rowCount = (tokens.size() - 1) * PAGE_SIZE + last.getTransactions().size();
+                pages.put(tokens.size() - 1, format(last.getTransactions()));
+                fireTableDataChanged();
+            });
+        });
+    }
+
+    /**
+     * Shows a list that is already in memory. Rows are still formatted only when displayed.
+     */
+    public void setTransactions(List<Transaction> transactions) {
+        reset(null, transactions);
+        rowCount = transactions.size();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Runs the current query again, or redraws the current list.
+     */
+    public void refresh() {
+        if (query != null) {
+            setQuery(query);
+        } else if (transactions != null) {
+            setTransactions(transactions);
+        }
+    }
+
+    /**
+     * Returns the transaction shown at {@code row}, or null while its page is still loading.
+     */
+    public Transaction getTransactionAt(int row) {
+        Page page = pageOf(row);
+        return page == null || row % PAGE_SIZE >= page.rows.length ? null : page.transactions.get(row % PAGE_SIZE);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columns[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Page page = pageOf(row);
+        return page == null || row % PAGE_SIZE >= page.rows.length ? null : page.rows[row % PAGE_SIZE][column];
+    }
+
+    private void reset(TransactionQuery query, List<Transaction> transactions) {
+        generation++;
+        this.query = query;
+        this.transactions = transactions;
+        pageTokens = List.of();
+        sortedKeys = null;
+        rowCount = 0;
+        pages.clear();
+        loading.clear();
+    }
+
+    private Page pageOf(int row) {
+        int index = row / PAGE_SIZE;
+        Page page = pages.get(index);
+        if (page == null && transactions != null) {
+            page = format(transactions.subList(index * PAGE_SIZE, Math.min(rowCount, (index + 1) * PAGE_SIZE)));
+            pages.put(index, page);
+        } else if (page == null) {
+            load(index);
+        }
+        if (query != null) {
+            load(index - 1);
+            load(index + 1);
+        }
+        return page;
+    }
+
+    private void load(int index) {
+        int pageCount = sortedKeys != null ? (sortedKeys.size() + PAGE_SIZE - 1) / PAGE_SIZE : pageTokens.size();
+        if (index < 0 || index >= pageCount || pages.containsKey(index) || !loading.add(index)) return;
+        int current = generation;
+        TransactionQuery source = query;
+        TransactionKeys keys = sortedKeys;
+        String token = keys == null ? pageTokens.get(index) : null;
+        loader.execute(() -> {
+            List<Transaction> fetched = keys != null
+                    ? TransactionManager.getTransactions(keys, index * PAGE_SIZE, PAGE_SIZE)
+                    : TransactionManager.getTransactionPage(source, PAGE_SIZE, token).getTransactions();
+            SwingUtilities.invokeLater(() -> {
+                if (current != generation) return;
+                loading.remove(index);
+                Page page = format(fetched);
+                pages.put(index, page);
+                int first = index * PAGE_SIZE;
+                int last = Math.min(rowCount, first + page.rows.length) - 1;
+                if (first <= last) fireTableRowsUpdated(first, last);
+            });
+        });
+    }
+
+    /**
+     * Formats rows on the event dispatch thread, since formatters may share date formats.
+     */
+    private Page format(List<Transaction> transactions) {
+        Object[][] rows = new Object[transactions.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = formatter.apply(transactions.get(i));
+        }
+        return new Page(new ArrayList<>(transactions), rows);
+    }
+
+    private static final class Page {
+        final List<Transaction> transactions;
+        final Object[][] rows;
+
+        Page(List<Transaction> transactions, Object[][] rows) {
+            this.transactions = transactions;
+            this.rows = rows;
+        }
+    }
+}
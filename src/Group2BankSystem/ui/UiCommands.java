@@ -0,0 +1,33 @@
+package Group2BankSystem.ui;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Reports the outcome of background commands, such as those from
+ * {@link Group2BankSystem.model.AccountCommands}, back on the event dispatch thread.
+ */
+final class UiCommands {
+    private UiCommands() {
+    }
+
+    /**
+     * Disables {@code trigger}, if there is one, while {@code command} runs in the background,
+     * then passes its result to {@code onSuccess} or shows its error over {@code parent}.
+     */
+    static <T> void run(Component parent, Component trigger, CompletableFuture<T> command, Consumer<T> onSuccess) {
+        if (trigger != null) trigger.setEnabled(false);
+        command.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            if (trigger != null) trigger.setEnabled(true);
+            if (error == null) {
+                onSuccess.accept(result);
+            } else {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                JOptionPane.showMessageDialog(parent, cause.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        }));
+    }
+}
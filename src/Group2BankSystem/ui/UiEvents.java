@@ -0,0 +1,68 @@
+package Group2BankSystem.ui;
+
+import Group2BankSystem.model.*;
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Hands model change events to the UI once per frame.
+ * <p>
+ * Events from {@link BankEvents} are queued on whatever thread published them. The first event
+ * after a quiet period starts a one-frame timer; when it fires, every queued event is delivered
+ * as one batch on the event dispatch thread, so a burst of changes costs one table update.
+ * </p>
+ */
+final class UiEvents {
+    private static final int FRAME_MILLIS = 16;
+    private static final ConcurrentLinkedQueue<BankEvent> pending = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean scheduled = new AtomicBoolean();
+    private static final List<Consumer<List<BankEvent>>> listeners = new CopyOnWriteArrayList<>();
+    private static final Timer frame = new Timer(FRAME_MILLIS, e -> flush());
+
+    static {
+        frame.setRepeats(false);
+        BankEvents.subscribe(UiEvents::enqueue);
+    }
+
+    private UiEvents() {
+    }
+
+    /**
+     * Registers a listener for event batches. Call on the event dispatch thread.
+     */
+    static void subscribe(Consumer<List<BankEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #subscribe}, so whatever it refers to can be
+     * collected. Safe to call from a listener while a batch is being delivered.
+     */
+    static void unsubscribe(Consumer<List<BankEvent>> listener) {
+        listeners.remove(listener);
+    }
+
+    private static void enqueue(BankEvent event) {
+        pending.add(event);
+        if (scheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(frame::restart);
+        }
+    }
+
+    private static void flush() {
+        scheduled.set(false);
+        List<BankEvent> batch = new ArrayList<>();
+        for (BankEvent event; (event = pending.poll()) != null; ) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) return;
+        for (Consumer<List<BankEvent>> listener : listeners) {
+            listener.accept(batch);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package Group2BankSystem.model;
+
+import java.util.Date;
+
+import static Group2BankSystem.model.BaselineAccountsCheck.expect;
+
+/**
+ * Checks that balances at past dates come back to the opening balance after each kind of
+ * debit, which holds only if every debit records exactly one transaction. Run from an empty
+ * scratch directory, since transactions are journaled in the working directory; exits
+ * non-zero on a mismatch.
+ */
+public class BalanceAtDateCheck {
+    public static void main(String[] args) throws Exception {
+        Date before = new Date(0);
+
+        CheckingAccount checking = (CheckingAccount) AccountFactory.createAccount("Check Holder", 1000, "Checking Account");
+        checking.encashCheck(50);
+        expectBalances(checking, before, 1000_00, 950_00);
+
+        checking.withdraw(25);
+        checking.deposit(10.50);
+        expectBalances(checking, before, 1000_00, 935_50);
+
+        CreditCardAccount card = (CreditCardAccount) AccountFactory.createAccount("Card Holder", 6000, "Credit Card Account");
+        card.charge(120);
+        card.makePayment(20);
+        expectBalances(card, before, 0, 100_00);
+
+        System.out.println("Balances at date match after encashment, withdrawal, deposit, charge and payment");
+    }
+
+    private static void expectBalances(BankAccount account, Date before, long openingCents, long currentCents) {
+        long opening = TransactionManager.getBalanceCentsAt(account, before);
+        long current = TransactionManager.getBalanceCentsAt(account, new Date());
+        expect(account.getBalanceCents() == currentCents, account.getAccountType() + " balance " + account.getBalanceCents());
+        expect(opening == openingCents, account.getAccountType() + " opening balance " + opening);
+        expect(current == currentCents, account.getAccountType() + " balance now " + current);
+    }
+}
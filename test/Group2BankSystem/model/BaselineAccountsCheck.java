@@ -0,0 +1,67 @@
+package Group2BankSystem.model;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads {@code test/data/baseline-accounts.dat}, a snapshot written by the original release,
+ * and checks that every account comes back. Run from the project root; exits non-zero on a
+ * mismatch.
+ * <p>
+ * The fixture holds one account per factory type plus a converted one: Bank, Checking
+ * (closed), Investment (minimum balance 750.50), Credit Card (limit 7500, charged 321.09)
+ * and a Bank account converted to Checking. The accounts are then written to a delta log
+ * with the current classes and read back, which must give the same values.
+ * </p>
+ */
+public class BaselineAccountsCheck {
+    public static void main(String[] args) throws Exception {
+        File log = File.createTempFile("baseline-accounts", ".log");
+        log.delete();
+        Map<String, BankAccount> loaded = new LinkedHashMap<>();
+        new AccountJournal("test/data/baseline-accounts.dat", log.getPath())
+                .load(account -> loaded.put(account.getAccountNumber(), account));
+
+        expectAccounts(loaded);
+
+        AccountJournal journal = new AccountJournal(new File(log.getParentFile(), log.getName() + ".snapshot").getPath(),
+                log.getPath());
+        journal.append(loaded.values().toArray(new BankAccount[0]));
+        Map<String, BankAccount> reloaded = new LinkedHashMap<>();
+        journal.load(account -> reloaded.put(account.getAccountNumber(), account));
+        log.delete();
+        expectAccounts(reloaded);
+        System.out.println("Loaded " + loaded.size() + " baseline accounts");
+    }
+
+    private static void expectAccounts(Map<String, BankAccount> accounts) {
+        expect(accounts.size() == 5, "5 accounts, got " + accounts.size());
+        expectAccount(accounts.get("202500001"), "Alice Smith", "Bank Account", true, 1234_56, 0);
+        BankAccount checking = expectAccount(accounts.get("202500002"), "Bob Jones", "Checking Account", false, 2500_10, 300_00);
+        expect(((CheckingAccount) checking).getOverdraftLimit() == 1000, "overdraft " + ((CheckingAccount) checking).getOverdraftLimit());
+        BankAccount investment = expectAccount(accounts.get("202500003"), "Carol White", "Investment Account", true, 10000_25, 750_50);
+        expect(((InvestmentAccount) investment).getInterestRate() == 0.05, "rate " + ((InvestmentAccount) investment).getInterestRate());
+        BankAccount card = expectAccount(accounts.get("202500004"), "Dan Brown", "Credit Card Account", true, 321_09, 0);
+        expect(((CreditCardAccount) card).getCreditLimitCents() == 7500_00, "limit " + ((CreditCardAccount) card).getCreditLimitCents());
+        expectAccount(accounts.get("202500005"), "Eve Black", "Checking Account", true, 800_75, 300_00);
+    }
+
+    private static BankAccount expectAccount(BankAccount account, String holder, String type, boolean active,
+                                             long balanceCents, long minimumCents) {
+        expect(account != null, "missing account for " + holder);
+        expect(holder.equals(account.getAccountHolderName()), "holder " + account.getAccountHolderName());
+        expect(type.equals(account.getAccountType()), holder + " type " + account.getAccountType());
+        expect(active == account.isActive(), holder + " active " + account.isActive());
+        expect(balanceCents == account.getBalanceCents(), holder + " balance " + account.getBalanceCents());
+        expect(Money.toCents(account.getMinimumBalance()) == minimumCents, holder + " minimum " + account.getMinimumBalance());
+        return account;
+    }
+
+    static void expect(boolean condition, String message) {
+        if (!condition) {
+            System.err.println("FAILED: " + message);
+            System.exit(1);
+        }
+    }
+}